@@ -0,0 +1,69 @@
+package org.example.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.service.AuthUnavailableException;
+import org.example.service.FirebaseAuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+
+/**
+ * Answers 503 up front when the bearer token cannot be verified because token
+ * verification is unavailable. Both outcomes of the check are cached by
+ * {@link FirebaseAuthService}: valid tokens until they expire, invalid ones
+ * briefly, so the controllers' own verifyToken calls never reach Firebase a
+ * second time. Invalid tokens are passed through and rejected by the
+ * controllers as before.
+ *
+ * The reactive endpoints map the same failure to 503 themselves, without
+ * blocking a request thread here.
+ */
+@Configuration
+public class AuthAvailabilityConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private FirebaseAuthService firebaseAuthService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AuthAvailabilityInterceptor(firebaseAuthService))
+                .addPathPatterns("/api/**").excludePathPatterns("/api/reactive/**");
+    }
+
+    static class AuthAvailabilityInterceptor implements HandlerInterceptor {
+
+        private final FirebaseAuthService firebaseAuthService;
+
+        AuthAvailabilityInterceptor(FirebaseAuthService firebaseAuthService) {
+            this.firebaseAuthService = firebaseAuthService;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                throws IOException {
+            String token = request.getHeader("Authorization");
+            if (token == null) {
+                return true;
+            }
+            try {
+                firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+            } catch (AuthUnavailableException e) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader("Retry-After", "5");
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write(e.getMessage());
+                return false;
+            } catch (RuntimeException e) {
+                // Invalid token (now cached as rejected): let the controller answer as it always has
+            }
+            return true;
+        }
+    }
+}
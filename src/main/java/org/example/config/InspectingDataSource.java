@@ -0,0 +1,233 @@
+package org.example.config;
+
+import org.example.service.QueryStatsService;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * DataSource wrapper that times every statement and counts the rows it
+ * returned or changed, then hands the result to {@link QueryStatsService}.
+ *
+ * Query rows are counted as the result set is read, and the statement is
+ * recorded when the result set (or its statement) is closed.
+ *
+ * The wrapper replaces the pool bean, so it also closes the pool: Spring calls
+ * {@link #close()} on context shutdown, as it would have on the pool itself.
+ */
+public class InspectingDataSource extends DelegatingDataSource implements Closeable {
+
+    private final Supplier<QueryStatsService> queryStats;
+
+    private volatile QueryStatsService resolvedQueryStats;
+
+    public InspectingDataSource(DataSource targetDataSource, Supplier<QueryStatsService> queryStats) {
+        super(targetDataSource);
+        this.queryStats = queryStats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Failed to close " + closeable, e);
+            }
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                InspectingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        // Proxies compare by identity so pooled-connection bookkeeping keeps working
+        if (method.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && args == null) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InspectingDataSource.invoke(proxy, target, method, args);
+
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(
+                        InspectingDataSource.class.getClassLoader(),
+                        new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private PendingQuery pending;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.equals("close")) {
+                flushPending();
+                return InspectingDataSource.invoke(proxy, target, method, args);
+            }
+
+            if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) InspectingDataSource.invoke(proxy, target, method, args);
+                return resultSet != null && pending != null ? wrapResultSet(resultSet, pending) : resultSet;
+            }
+
+            if (!name.startsWith("execute")) {
+                return InspectingDataSource.invoke(proxy, target, method, args);
+            }
+
+            flushPending();
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            Object result = InspectingDataSource.invoke(proxy, target, method, args);
+            long duration = System.nanoTime() - start;
+
+            if (result instanceof ResultSet resultSet) {
+                pending = new PendingQuery(sql, duration);
+                return wrapResultSet(resultSet, pending);
+            }
+            if (result instanceof Boolean hasResultSet) {
+                if (hasResultSet) {
+                    pending = new PendingQuery(sql, duration);
+                } else {
+                    record(sql, duration, target.getUpdateCount());
+                }
+            } else if (result instanceof Number updateCount) {
+                record(sql, duration, updateCount.longValue());
+            } else if (result instanceof int[] counts) {
+                long rows = 0;
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+                record(sql, duration, rows);
+            } else if (result instanceof long[] counts) {
+                long rows = 0;
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+                record(sql, duration, rows);
+            }
+            return result;
+        }
+
+        private void flushPending() {
+            if (pending != null) {
+                pending.complete();
+                pending = null;
+            }
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet, PendingQuery query) {
+            return (ResultSet) Proxy.newProxyInstance(
+                    InspectingDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        Object result = InspectingDataSource.invoke(proxy, resultSet, method, args);
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                            query.rows++;
+                        } else if (method.getName().equals("close")) {
+                            query.complete();
+                        }
+                        return result;
+                    });
+        }
+    }
+
+    private void record(String sql, long durationNanos, long rows) {
+        QueryStatsService stats = resolvedQueryStats;
+        if (stats == null) {
+            // Statements can run before the stats bean exists (e.g. migrations at startup)
+            stats = queryStats.get();
+            resolvedQueryStats = stats;
+        }
+        if (stats != null) {
+            stats.record(sql, durationNanos, rows);
+        }
+    }
+
+    /**
+     * A query whose rows are still being read
+     */
+    private class PendingQuery {
+
+        private final String sql;
+        private final long durationNanos;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private long rows;
+
+        PendingQuery(String sql, long durationNanos) {
+            this.sql = sql;
+            this.durationNanos = durationNanos;
+        }
+
+        void complete() {
+            if (recorded.compareAndSet(false, true)) {
+                record(sql, durationNanos, rows);
+            }
+        }
+    }
+}
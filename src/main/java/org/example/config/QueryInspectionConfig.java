@@ -0,0 +1,65 @@
+package org.example.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.service.QueryStatsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires SQL statement inspection: wraps the DataSource so every statement is
+ * timed, and tags statements with the controller endpoint that issued them.
+ */
+@Configuration
+public class QueryInspectionConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private QueryStatsService queryStatsService;
+
+    @Bean
+    public static BeanPostProcessor inspectingDataSourcePostProcessor(ObjectProvider<QueryStatsService> queryStats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InspectingDataSource)) {
+                    return new InspectingDataSource(dataSource, queryStats::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                queryStatsService.setCurrentEndpoint(
+                        request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                queryStatsService.clearCurrentEndpoint();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                queryStatsService.clearCurrentEndpoint();
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC setup for the reactive read endpoints.
+ *
+ * The connection pool is deliberately not registered as a bean: Spring Boot
+ * skips the JDBC DataSource when a ConnectionFactory bean exists, and the
+ * JPA write path still needs it.
+ */
+@Configuration
+public class ReactiveReadConfig {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(
+            @Value("${app.r2dbc.url}") String url,
+            @Value("${app.r2dbc.username}") String username,
+            @Value("${app.r2dbc.password}") String password,
+            @Value("${app.r2dbc.pool.initial-size:5}") int initialSize,
+            @Value("${app.r2dbc.pool.max-size:20}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
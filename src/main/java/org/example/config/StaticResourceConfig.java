@@ -0,0 +1,45 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the frontend assets (copied into classpath:/static at build time)
+ * under content-hash fingerprinted URLs, e.g. /script-3f2a...9c.js.
+ * A changed file gets a new URL, so fingerprinted assets are cached for a
+ * year as immutable. The plain URLs (/script.js) still resolve but are
+ * always revalidated, since their content changes with every deploy.
+ * Precompressed .br/.gz variants are used when the client accepts them.
+ * index.html is served by FrontendController.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    // name-<32 hex digit content hash>.js|css, as produced by the content version strategy
+    private static final String FINGERPRINTED_ASSET = "/{asset:[^/]+-[0-9a-f]{32}\\.(?:js|css)}";
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // More specific than the patterns below, so fingerprinted URLs always land here
+        addAssetHandler(registry.addResourceHandler(FINGERPRINTED_ASSET),
+                CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        addAssetHandler(registry.addResourceHandler("/*.js", "/*.css"), CacheControl.noCache());
+    }
+
+    private static void addAssetHandler(ResourceHandlerRegistration registration, CacheControl cacheControl) {
+        // Both chains need the version resolver: ResourceUrlProvider uses the plain-path
+        // handler to compute the fingerprinted URLs written into index.html
+        registration.addResourceLocations("classpath:/static/")
+                .setCacheControl(cacheControl)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+}
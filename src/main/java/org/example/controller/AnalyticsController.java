@@ -0,0 +1,97 @@
+package org.example.controller;
+
+import org.example.service.AnalyticsService;
+import org.example.service.FirebaseAuthService;
+import org.example.service.StudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Analytics Controller - enrollment trends for admins
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private FirebaseAuthService firebaseAuthService;
+
+    @Autowired
+    private StudentService studentService;
+
+    /**
+     * Get new students per day, week or month across all courses (Admin only)
+     * GET /api/analytics/enrollments?granularity=WEEK&from=2024-01-01&to=2024-06-30
+     */
+    @GetMapping("/enrollments")
+    public ResponseEntity<?> getEnrollmentTrend(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view analytics");
+            }
+
+            Map<String, Object> trend = analyticsService.getEnrollmentTrend(granularity, from, to);
+            return ResponseEntity.ok(trend);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Start rebuilding the enrollment rollups from the student table in the background (Admin only)
+     * POST /api/analytics/enrollments/backfill
+     */
+    @PostMapping("/enrollments/backfill")
+    public ResponseEntity<?> backfillEnrollmentRollups(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can rebuild analytics");
+            }
+
+            Map<String, Object> status = analyticsService.startBackfill();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get the state and progress of the last rollup backfill (Admin only)
+     * GET /api/analytics/enrollments/backfill
+     */
+    @GetMapping("/enrollments/backfill")
+    public ResponseEntity<?> getBackfillStatus(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view analytics");
+            }
+
+            return ResponseEntity.ok(analyticsService.getBackfillStatus());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+}
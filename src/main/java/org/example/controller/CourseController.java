@@ -2,15 +2,20 @@ package org.example.controller;
 
 
 import org.example.entity.Course;
+import org.example.service.AnalyticsService;
 import org.example.service.CourseService;
+import org.example.service.EnrollmentService;
 import org.example.service.FirebaseAuthService;
 import org.example.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Course Controller - REST API endpoints for Course operations
@@ -29,6 +34,12 @@ public class CourseController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
     /**
      * Create a new course (Admin only)
      * POST /api/courses
@@ -89,6 +100,103 @@ public class CourseController {
         }
     }
 
+    /**
+     * Get several courses by ID in one call
+     * POST /api/courses/batch-get
+     * Request body: { "ids": [1, 2, 3] }
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> getCoursesByIds(
+            @RequestHeader("Authorization") String token,
+            @RequestBody Map<String, Object> request) {
+        try {
+            firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            List<Long> ids = RequestIds.parse(request, "ids");
+
+            List<Map<String, Object>> courses = courseService.getCoursesByIds(ids);
+            return ResponseEntity.ok(courses);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get new students per day, week or month for a course (Admin only)
+     * GET /api/courses/{id}/trends?granularity=MONTH&from=2024-01-01&to=2024-12-31
+     */
+    @GetMapping("/{id}/trends")
+    public ResponseEntity<?> getCourseTrend(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view course trends");
+            }
+
+            Map<String, Object> trend = analyticsService.getCourseTrend(id, granularity, from, to);
+            return ResponseEntity.ok(trend);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get the course roster with every course each student is enrolled in (Admin only)
+     * GET /api/courses/{id}/roster
+     */
+    @GetMapping("/{id}/roster")
+    public ResponseEntity<?> getCourseRoster(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view course rosters");
+            }
+
+            List<Map<String, Object>> roster = enrollmentService.getRoster(id);
+            return ResponseEntity.ok(roster);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Enroll many students in a course at once (Admin only)
+     * POST /api/courses/{id}/enrollments
+     * Request body: { "studentIds": [1, 2, 3] }
+     */
+    @PostMapping("/{id}/enrollments")
+    public ResponseEntity<?> bulkEnroll(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> request) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can enroll students");
+            }
+
+            List<Long> studentIds = RequestIds.parse(request, "studentIds");
+
+            Map<String, Object> result = enrollmentService.bulkEnroll(id, studentIds);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     /**
      * Update course (Admin only)
      * PUT /api/courses/{id}
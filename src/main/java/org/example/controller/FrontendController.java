@@ -0,0 +1,77 @@
+package org.example.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Frontend Controller - serves index.html with asset links rewritten to their
+ * fingerprinted URLs. The page itself is always revalidated (ETag), so a
+ * deploy is picked up on the next load while unchanged assets are not refetched.
+ */
+@RestController
+public class FrontendController {
+
+    private static final Pattern ASSET_LINK = Pattern.compile("(href|src)=\"([^\"/:]+\\.(?:css|js))\"");
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider;
+
+    private volatile String indexHtml;
+
+    private volatile String indexEtag;
+
+    /**
+     * Get the frontend entry page
+     * GET /
+     */
+    @GetMapping(value = {"/", "/index.html"}, produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> getIndex(WebRequest request) throws IOException {
+        if (indexHtml == null) {
+            renderIndex();
+        }
+
+        if (request.checkNotModified(indexEtag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(indexEtag)
+                .body(indexHtml);
+    }
+
+    private synchronized void renderIndex() throws IOException {
+        if (indexHtml != null) {
+            return;
+        }
+        String html;
+        try (InputStream in = new ClassPathResource("static/index.html").getInputStream()) {
+            html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        Matcher matcher = ASSET_LINK.matcher(html);
+        StringBuilder rendered = new StringBuilder();
+        while (matcher.find()) {
+            String url = resourceUrlProvider.getForLookupPath("/" + matcher.group(2));
+            String replacement = matcher.group(1) + "=\"" + (url != null ? url : matcher.group(2)) + "\"";
+            matcher.appendReplacement(rendered, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(rendered);
+
+        indexEtag = "\"" + DigestUtils.md5DigestAsHex(rendered.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        indexHtml = rendered.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.controller;
+
+import org.example.service.CacheInvalidationBus;
+import org.example.service.FirebaseAuthService;
+import org.example.service.JvmStatsService;
+import org.example.service.QueryStatsService;
+import org.example.service.RequestCoalescer;
+import org.example.service.StudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Metrics Controller - operational counters for admins
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private QueryStatsService queryStatsService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private JvmStatsService jvmStatsService;
+
+    @Autowired
+    private FirebaseAuthService firebaseAuthService;
+
+    @Autowired
+    private StudentService studentService;
+
+    /**
+     * Get request coalescing counters (Admin only)
+     * GET /api/metrics/coalescing
+     */
+    @GetMapping("/coalescing")
+    public ResponseEntity<?> getCoalescingStats(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view metrics");
+            }
+
+            return ResponseEntity.ok(requestCoalescer.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get the slowest SQL statements with the endpoint that issued them (Admin only)
+     * GET /api/metrics/slow-queries
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<?> getSlowQueries(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view metrics");
+            }
+
+            return ResponseEntity.ok(queryStatsService.getSlowestQueries());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get token verification circuit breaker and bulkhead state (Admin only)
+     * GET /api/metrics/auth
+     */
+    @GetMapping("/auth")
+    public ResponseEntity<?> getAuthStats(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view metrics");
+            }
+
+            return ResponseEntity.ok(firebaseAuthService.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get local cache size and cluster invalidation listener state (Admin only)
+     * GET /api/metrics/cache
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<?> getCacheStats(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view metrics");
+            }
+
+            return ResponseEntity.ok(cacheInvalidationBus.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get heap, resident memory and thread counts of this instance (Admin only)
+     * GET /api/metrics/jvm
+     */
+    @GetMapping("/jvm")
+    public ResponseEntity<?> getJvmStats(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view metrics");
+            }
+
+            return ResponseEntity.ok(jvmStatsService.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+}
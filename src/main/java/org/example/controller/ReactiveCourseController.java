@@ -0,0 +1,59 @@
+package org.example.controller;
+
+import org.example.service.AuthUnavailableException;
+import org.example.service.FirebaseAuthService;
+import org.example.service.ReactiveReadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Course Controller - non-blocking read endpoints for courses.
+ * Courses are returned without their student rosters.
+ */
+@RestController
+@RequestMapping("/api/reactive/courses")
+@CrossOrigin(origins = "*")
+public class ReactiveCourseController {
+
+    @Autowired
+    private ReactiveReadService reactiveReadService;
+
+    @Autowired
+    private FirebaseAuthService firebaseAuthService;
+
+    /**
+     * Get all courses (Accessible to all authenticated users)
+     * GET /api/reactive/courses
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllCourses(@RequestHeader("Authorization") String token) {
+        return firebaseAuthService.verifyTokenAsync(token.replace("Bearer ", ""))
+                .flatMap(uid -> reactiveReadService.getAllCourses().collectList())
+                .map(ResponseEntity::<Object>ok)
+                .onErrorResume(e -> error(HttpStatus.UNAUTHORIZED, e));
+    }
+
+    /**
+     * Get course by ID
+     * GET /api/reactive/courses/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getCourseById(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id) {
+        return firebaseAuthService.verifyTokenAsync(token.replace("Bearer ", ""))
+                .flatMap(uid -> reactiveReadService.getCourseById(id))
+                .map(ResponseEntity::<Object>ok)
+                .onErrorResume(e -> error(HttpStatus.NOT_FOUND, e));
+    }
+
+    private static Mono<ResponseEntity<Object>> error(HttpStatus status, Throwable e) {
+        if (e instanceof AuthUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return Mono.just(ResponseEntity.status(status).body(e.getMessage()));
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.controller;
+
+import org.example.service.AuthUnavailableException;
+import org.example.service.FirebaseAuthService;
+import org.example.service.ReactiveReadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Student Controller - non-blocking read endpoints for students.
+ * Same access rules as {@link StudentController}; writes stay there.
+ */
+@RestController
+@RequestMapping("/api/reactive/students")
+@CrossOrigin(origins = "*")
+public class ReactiveStudentController {
+
+    @Autowired
+    private ReactiveReadService reactiveReadService;
+
+    @Autowired
+    private FirebaseAuthService firebaseAuthService;
+
+    /**
+     * Get all students (Admin only)
+     * GET /api/reactive/students
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllStudents(@RequestHeader("Authorization") String token) {
+        return firebaseAuthService.verifyTokenAsync(token.replace("Bearer ", ""))
+                .flatMap(reactiveReadService::isAdmin)
+                .flatMap(admin -> admin
+                        ? reactiveReadService.getAllStudents().collectList().map(ResponseEntity::<Object>ok)
+                        : forbidden("Only admins can view all students"))
+                .onErrorResume(e -> error(HttpStatus.UNAUTHORIZED, e));
+    }
+
+    /**
+     * Get current user's details
+     * GET /api/reactive/students/me
+     */
+    @GetMapping("/me")
+    public Mono<ResponseEntity<Object>> getCurrentStudent(@RequestHeader("Authorization") String token) {
+        return firebaseAuthService.verifyTokenAsync(token.replace("Bearer ", ""))
+                .flatMap(reactiveReadService::getStudentByFirebaseUid)
+                .map(ResponseEntity::<Object>ok)
+                .onErrorResume(e -> error(HttpStatus.NOT_FOUND, e));
+    }
+
+    /**
+     * Get student by ID (Admin only)
+     * GET /api/reactive/students/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getStudentById(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id) {
+        return firebaseAuthService.verifyTokenAsync(token.replace("Bearer ", ""))
+                .flatMap(reactiveReadService::isAdmin)
+                .flatMap(admin -> admin
+                        ? reactiveReadService.getStudentById(id).map(ResponseEntity::<Object>ok)
+                        : forbidden("Only admins can view student details"))
+                .onErrorResume(e -> error(HttpStatus.NOT_FOUND, e));
+    }
+
+    /**
+     * Get students enrolled in a specific course (Admin only)
+     * GET /api/reactive/students/course/{courseId}
+     */
+    @GetMapping("/course/{courseId}")
+    public Mono<ResponseEntity<Object>> getStudentsByCourse(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long courseId) {
+        return firebaseAuthService.verifyTokenAsync(token.replace("Bearer ", ""))
+                .flatMap(reactiveReadService::isAdmin)
+                .flatMap(admin -> admin
+                        ? reactiveReadService.getStudentsByCourseId(courseId).collectList()
+                                .map(ResponseEntity::<Object>ok)
+                        : forbidden("Only admins can view students by course"))
+                .onErrorResume(e -> error(HttpStatus.BAD_REQUEST, e));
+    }
+
+    private static Mono<ResponseEntity<Object>> forbidden(String message) {
+        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(message));
+    }
+
+    private static Mono<ResponseEntity<Object>> error(HttpStatus status, Throwable e) {
+        if (e instanceof AuthUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return Mono.just(ResponseEntity.status(status).body(e.getMessage()));
+    }
+}
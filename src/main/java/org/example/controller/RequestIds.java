@@ -0,0 +1,23 @@
+package org.example.controller;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an ID list such as { "ids": [1, 2, 3] } from a JSON request body
+ */
+final class RequestIds {
+
+    private RequestIds() {
+    }
+
+    /**
+     * The field's values as Longs; rejects a missing field, a non-list or null entries
+     */
+    static List<Long> parse(Map<String, Object> request, String field) {
+        if (!(request.get(field) instanceof List<?> values) || values.contains(null)) {
+            throw new IllegalArgumentException("Request body must contain a list of non-null " + field);
+        }
+        return values.stream().map(value -> Long.valueOf(value.toString())).toList();
+    }
+}
@@ -2,7 +2,9 @@ package org.example.controller;
 
 
 
+import org.example.entity.Enrollment;
 import org.example.entity.Student;
+import org.example.service.EnrollmentService;
 import org.example.service.FirebaseAuthService;
 import org.example.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +24,9 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private EnrollmentService enrollmentService;
+
     @Autowired
     private FirebaseAuthService firebaseAuthService;
 
@@ -104,6 +109,32 @@ public class StudentController {
         }
     }
 
+    /**
+     * Get several students by ID in one call (Admin only)
+     * POST /api/students/batch-get
+     * Request body: { "ids": [1, 2, 3] }
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> getStudentsByIds(
+            @RequestHeader("Authorization") String token,
+            @RequestBody Map<String, Object> request) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view student details");
+            }
+
+            List<Long> ids = RequestIds.parse(request, "ids");
+
+            List<Map<String, Object>> students = studentService.getStudentsByIds(ids);
+            return ResponseEntity.ok(students);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     /**
      * Get current user's details (Student can view their own details)
      * GET /api/students/me
@@ -119,6 +150,25 @@ public class StudentController {
         }
     }
 
+    /**
+     * Get the current student's home screen: profile, course, enrollment size
+     * and a page of classmate names
+     * GET /api/students/me/dashboard?page=0&size=20
+     */
+    @GetMapping("/me/dashboard")
+    public ResponseEntity<?> getCurrentStudentDashboard(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+            Map<String, Object> dashboard = studentService.getDashboard(firebaseUid, page, size);
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     /**
      * Get student by ID (Admin only)
      * GET /api/students/{id}
@@ -199,6 +249,105 @@ public class StudentController {
         }
     }
 
+    /**
+     * Get the current user's enrolled courses
+     * GET /api/students/me/courses
+     */
+    @GetMapping("/me/courses")
+    public ResponseEntity<?> getCurrentStudentCourses(@RequestHeader("Authorization") String token) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+            Student student = studentService.getStudentByFirebaseUid(firebaseUid);
+            List<Map<String, Object>> courses = enrollmentService.getCoursesOfStudent(student.getStudentId());
+            return ResponseEntity.ok(courses);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get a student's enrolled courses (Admin only)
+     * GET /api/students/{id}/courses
+     */
+    @GetMapping("/{id}/courses")
+    public ResponseEntity<?> getStudentCourses(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can view student enrollments");
+            }
+
+            List<Map<String, Object>> courses = enrollmentService.getCoursesOfStudent(id);
+            return ResponseEntity.ok(courses);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Enroll a student in a course (Admin only)
+     * POST /api/students/{id}/enrollments
+     * Request body: { "courseId": 1 }
+     */
+    @PostMapping("/{id}/enrollments")
+    public ResponseEntity<?> enrollStudent(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> request) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can enroll students");
+            }
+
+            if (request.get("courseId") == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("courseId is required");
+            }
+            Long courseId = Long.valueOf(request.get("courseId").toString());
+
+            Enrollment enrollment = enrollmentService.enroll(id, courseId);
+            Map<String, Object> result = Map.of(
+                    "enrollmentId", enrollment.getEnrollmentId(),
+                    "studentId", id,
+                    "courseId", courseId,
+                    "enrolledAt", enrollment.getEnrolledAt(),
+                    "status", enrollment.getStatus());
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Unenroll a student from a course (Admin only)
+     * DELETE /api/students/{id}/enrollments/{courseId}
+     */
+    @DeleteMapping("/{id}/enrollments/{courseId}")
+    public ResponseEntity<?> unenrollStudent(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long id,
+            @PathVariable Long courseId) {
+        try {
+            String firebaseUid = firebaseAuthService.verifyToken(token.replace("Bearer ", ""));
+
+            if (!studentService.isAdmin(firebaseUid)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Only admins can unenroll students");
+            }
+
+            enrollmentService.unenroll(id, courseId);
+            return ResponseEntity.ok("Student unenrolled successfully");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     /**
      * Delete student (Admin only)
      * DELETE /api/students/{id}
@@ -0,0 +1,91 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Number of new students of a course in one day, week or month bucket,
+ * by student creation date. Maintained by native upserts, never saved directly.
+ */
+@Entity
+@Table(name = "enrollment_rollup")
+@IdClass(EnrollmentRollup.Key.class)
+@NoArgsConstructor
+public class EnrollmentRollup {
+
+    public static final String BUCKET_DAY = "DAY";
+    public static final String BUCKET_WEEK = "WEEK";
+    public static final String BUCKET_MONTH = "MONTH";
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Id
+    @Column(name = "bucket_type", length = 5)
+    private String bucketType; // DAY, WEEK or MONTH
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart; // First day of the bucket; weeks start on Monday
+
+    @Column(name = "new_students", nullable = false)
+    private long newStudents;
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getBucketType() {
+        return bucketType;
+    }
+
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getNewStudents() {
+        return newStudents;
+    }
+
+    /**
+     * Composite primary key: course, bucket type and bucket start
+     */
+    public static class Key implements Serializable {
+
+        private Long courseId;
+        private String bucketType;
+        private LocalDate bucketStart;
+
+        public Key() {
+        }
+
+        public Key(Long courseId, String bucketType, LocalDate bucketStart) {
+            this.courseId = courseId;
+            this.bucketType = bucketType;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(courseId, key.courseId)
+                    && Objects.equals(bucketType, key.bucketType)
+                    && Objects.equals(bucketStart, key.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(courseId, bucketType, bucketStart);
+        }
+    }
+}
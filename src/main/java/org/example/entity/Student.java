@@ -6,10 +6,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "student")
@@ -52,6 +57,14 @@ public class Student {
     @JsonIgnore // Prevents circular reference in JSON response
     private Course course;
 
+    // All course enrollments; loaded for a whole list of students with one subselect
+    @OneToMany(mappedBy = "student", fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private List<Enrollment> enrollments;
+
     public Long getStudentId() {
         return studentId;
     }
@@ -123,4 +136,12 @@ public class Student {
     public void setCourse(Course course) {
         this.course = course;
     }
+
+    public List<Enrollment> getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(List<Enrollment> enrollments) {
+        this.enrollments = enrollments;
+    }
 }
\ No newline at end of file
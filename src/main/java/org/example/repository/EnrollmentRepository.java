@@ -0,0 +1,43 @@
+package org.example.repository;
+
+import org.example.entity.Enrollment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+
+    @Query("SELECT e FROM Enrollment e WHERE e.student.studentId = :studentId AND e.course.courseId = :courseId")
+    Optional<Enrollment> findByStudentIdAndCourseId(@Param("studentId") Long studentId,
+                                                    @Param("courseId") Long courseId);
+
+
+    @Query("SELECT e FROM Enrollment e WHERE e.course.courseId = :courseId AND e.student.studentId IN :studentIds")
+    List<Enrollment> findByCourseIdAndStudentIds(@Param("courseId") Long courseId,
+                                                 @Param("studentIds") Collection<Long> studentIds);
+
+
+    // Roster of a course, students and their primary course fetched in the same query
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student s LEFT JOIN FETCH s.course " +
+            "WHERE e.course.courseId = :courseId AND e.status = 'ACTIVE' ORDER BY s.studentName, s.studentId")
+    List<Enrollment> findActiveRosterByCourseId(@Param("courseId") Long courseId);
+
+
+    // Every active enrollment (with its course) of every student on a course's roster
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.course WHERE e.status = 'ACTIVE' AND e.student.studentId IN " +
+            "(SELECT r.student.studentId FROM Enrollment r WHERE r.course.courseId = :courseId AND r.status = 'ACTIVE')")
+    List<Enrollment> findActiveByRosterOfCourseId(@Param("courseId") Long courseId);
+
+
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.course " +
+            "WHERE e.student.studentId = :studentId AND e.status = 'ACTIVE' ORDER BY e.enrolledAt")
+    List<Enrollment> findActiveByStudentIdWithCourse(@Param("studentId") Long studentId);
+}
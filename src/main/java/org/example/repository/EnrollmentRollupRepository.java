@@ -0,0 +1,78 @@
+package org.example.repository;
+
+import org.example.entity.EnrollmentRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@Repository
+public interface EnrollmentRollupRepository extends JpaRepository<EnrollmentRollup, EnrollmentRollup.Key> {
+
+
+    // Add delta to the day, week and month buckets of createdAt in one statement
+    @Modifying
+    @Query(value = "INSERT INTO enrollment_rollup (course_id, bucket_type, bucket_start, new_students) " +
+            "SELECT :courseId, b.bucket_type, CAST(date_trunc(b.unit, CAST(:createdAt AS TIMESTAMP)) AS DATE), :delta " +
+            "FROM (VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month')) AS b (bucket_type, unit) " +
+            "ON CONFLICT (course_id, bucket_type, bucket_start) " +
+            "DO UPDATE SET new_students = enrollment_rollup.new_students + EXCLUDED.new_students",
+            nativeQuery = true)
+    int addNewStudents(@Param("courseId") Long courseId,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("delta") long delta);
+
+
+    // Held by writers for the rest of their transaction; many writers of a course can hold it at once
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:courseId)", nativeQuery = true)
+    Integer lockCourseShared(@Param("courseId") Long courseId);
+
+
+    // Held by the rebuild of one course: waits for that course's in-flight writers and holds off new ones
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:courseId)", nativeQuery = true)
+    Integer lockCourseExclusive(@Param("courseId") Long courseId);
+
+
+    @Query(value = "SELECT course_id FROM course ORDER BY course_id", nativeQuery = true)
+    List<Long> findAllCourseIds();
+
+
+    @Modifying
+    @Query(value = "DELETE FROM enrollment_rollup WHERE course_id = :courseId", nativeQuery = true)
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+
+    // Same bucketing as addNewStudents and the V4 migration; reads idx_student_course_created_at
+    @Modifying
+    @Query(value = "INSERT INTO enrollment_rollup (course_id, bucket_type, bucket_start, new_students) " +
+            "SELECT s.course_id, b.bucket_type, CAST(date_trunc(b.unit, s.created_at) AS DATE), COUNT(*) " +
+            "FROM student s " +
+            "CROSS JOIN (VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month')) AS b (bucket_type, unit) " +
+            "WHERE s.course_id = :courseId AND s.created_at IS NOT NULL " +
+            "GROUP BY s.course_id, b.bucket_type, CAST(date_trunc(b.unit, s.created_at) AS DATE)",
+            nativeQuery = true)
+    int rebuildCourse(@Param("courseId") Long courseId);
+
+
+    @Query("SELECT r FROM EnrollmentRollup r WHERE r.courseId = :courseId AND r.bucketType = :bucketType " +
+            "AND r.bucketStart BETWEEN :from AND :to ORDER BY r.bucketStart")
+    List<EnrollmentRollup> findCourseTrend(@Param("courseId") Long courseId,
+                                           @Param("bucketType") String bucketType,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+
+    // [bucketStart, newStudents] totals across all courses
+    @Query("SELECT r.bucketStart, SUM(r.newStudents) FROM EnrollmentRollup r " +
+            "WHERE r.bucketType = :bucketType AND r.bucketStart BETWEEN :from AND :to " +
+            "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<Object[]> sumByBucket(@Param("bucketType") String bucketType,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+}
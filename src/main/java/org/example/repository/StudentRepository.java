@@ -1,11 +1,13 @@
 package org.example.repository;
 
 import org.example.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +27,23 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
 
     boolean existsByEmail(String email);
+
+
+    @Query("SELECT s FROM Student s LEFT JOIN FETCH s.course WHERE s.firebaseUid = :firebaseUid")
+    Optional<Student> findWithCourseByFirebaseUid(@Param("firebaseUid") String firebaseUid);
+
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE s.course.courseId = :courseId")
+    long countStudentsByCourseId(@Param("courseId") Long courseId);
+
+
+    @Query("SELECT s.studentName FROM Student s WHERE s.course.courseId = :courseId AND s.studentId <> :studentId " +
+            "ORDER BY s.studentName, s.studentId")
+    List<String> findClassmateNames(@Param("courseId") Long courseId,
+                                    @Param("studentId") Long studentId,
+                                    Pageable pageable);
+
+
+    @Query("SELECT s.studentId FROM Student s WHERE s.studentId IN :studentIds")
+    List<Long> findExistingIds(@Param("studentIds") Collection<Long> studentIds);
 }
\ No newline at end of file
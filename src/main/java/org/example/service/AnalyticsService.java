@@ -0,0 +1,284 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.entity.EnrollmentRollup;
+import org.example.repository.EnrollmentRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analytics Service - enrollment trends served from the enrollment_rollup table.
+ *
+ * Rollups count new students per course by creation date and primary course.
+ * {@link StudentService} keeps them current inside its own transactions; reads
+ * touch one row per bucket, whatever the size of the student table.
+ *
+ * The backfill runs in the background and rebuilds one course per short
+ * transaction. A per-course advisory lock orders it with writers: writers hold
+ * it shared until they commit, the rebuild of a course holds it exclusively,
+ * so only writers of the course being rebuilt ever wait, and only briefly.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+
+    @Autowired
+    private EnrollmentRollupRepository enrollmentRollupRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.analytics.max-buckets:400}")
+    private int maxBuckets;
+
+    private final AtomicInteger backfillCoursesDone = new AtomicInteger();
+
+    private ExecutorService backfillExecutor;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Guarded by this
+    private String backfillState = "IDLE";
+    private int backfillCoursesTotal;
+    private Instant backfillStartedAt;
+    private Instant backfillFinishedAt;
+    private String backfillError;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-rollup-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    /**
+     * Move a student's contribution from one course to another; either may be null
+     * (null old course: new student, null new course: removed or unassigned student)
+     */
+    @Transactional
+    public void recordCourseChange(Long oldCourseId, Long newCourseId, LocalDateTime createdAt) {
+        if (Objects.equals(oldCourseId, newCourseId) || createdAt == null) {
+            return;
+        }
+        if (oldCourseId != null) {
+            enrollmentRollupRepository.lockCourseShared(oldCourseId);
+            enrollmentRollupRepository.addNewStudents(oldCourseId, createdAt, -1);
+        }
+        if (newCourseId != null) {
+            enrollmentRollupRepository.lockCourseShared(newCourseId);
+            enrollmentRollupRepository.addNewStudents(newCourseId, createdAt, 1);
+        }
+    }
+
+    /**
+     * Start rebuilding every rollup from the student table in the background
+     * (after bulk loads or direct SQL changes); returns the backfill status
+     */
+    public synchronized Map<String, Object> startBackfill() {
+        if (!"RUNNING".equals(backfillState)) {
+            backfillState = "RUNNING";
+            backfillCoursesTotal = 0;
+            backfillCoursesDone.set(0);
+            backfillStartedAt = Instant.now();
+            backfillFinishedAt = null;
+            backfillError = null;
+            backfillExecutor.execute(this::runBackfill);
+        }
+        return getBackfillStatus();
+    }
+
+    /**
+     * Get the state and progress of the last backfill
+     */
+    public synchronized Map<String, Object> getBackfillStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", backfillState);
+        status.put("coursesDone", backfillCoursesDone.get());
+        status.put("coursesTotal", backfillCoursesTotal);
+        status.put("startedAt", backfillStartedAt);
+        status.put("finishedAt", backfillFinishedAt);
+        status.put("error", backfillError);
+        return status;
+    }
+
+    private void runBackfill() {
+        try {
+            List<Long> courseIds = enrollmentRollupRepository.findAllCourseIds();
+            synchronized (this) {
+                backfillCoursesTotal = courseIds.size();
+            }
+            for (Long courseId : courseIds) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Backfill interrupted");
+                }
+                // One short transaction per course: the exclusive lock waits for the
+                // course's in-flight writers, and the rebuild then sees their commits
+                transactionTemplate.executeWithoutResult(status -> {
+                    enrollmentRollupRepository.lockCourseExclusive(courseId);
+                    enrollmentRollupRepository.deleteByCourseId(courseId);
+                    enrollmentRollupRepository.rebuildCourse(courseId);
+                });
+                backfillCoursesDone.incrementAndGet();
+            }
+            finishBackfill("DONE", null);
+        } catch (RuntimeException e) {
+            log.warn("Enrollment rollup backfill failed", e);
+            finishBackfill("FAILED", e.getMessage());
+        }
+    }
+
+    private synchronized void finishBackfill(String state, String error) {
+        backfillState = state;
+        backfillError = error;
+        backfillFinishedAt = Instant.now();
+    }
+
+    /**
+     * Get new students per bucket for one course
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getCourseTrend(Long courseId, String granularity, LocalDate from, LocalDate to) {
+        courseService.findCourseById(courseId);
+        String bucketType = parseGranularity(granularity);
+        LocalDate[] range = resolveRange(bucketType, from, to);
+
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (EnrollmentRollup rollup : enrollmentRollupRepository.findCourseTrend(
+                courseId, bucketType, range[0], range[1])) {
+            counts.put(rollup.getBucketStart(), rollup.getNewStudents());
+        }
+
+        Map<String, Object> trend = new LinkedHashMap<>();
+        trend.put("courseId", courseId);
+        trend.putAll(toSeries(bucketType, range, counts));
+        return trend;
+    }
+
+    /**
+     * Get new students per bucket across all courses
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getEnrollmentTrend(String granularity, LocalDate from, LocalDate to) {
+        String bucketType = parseGranularity(granularity);
+        LocalDate[] range = resolveRange(bucketType, from, to);
+
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : enrollmentRollupRepository.sumByBucket(bucketType, range[0], range[1])) {
+            counts.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        return toSeries(bucketType, range, counts);
+    }
+
+    /**
+     * Every bucket in the range, zero-filled, with the overall total
+     */
+    private Map<String, Object> toSeries(String bucketType, LocalDate[] range, Map<LocalDate, Long> counts) {
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        long total = 0;
+        for (LocalDate bucket = range[0]; !bucket.isAfter(range[1]); bucket = next(bucketType, bucket)) {
+            long newStudents = counts.getOrDefault(bucket, 0L);
+            total += newStudents;
+
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucketStart", bucket);
+            point.put("newStudents", newStudents);
+            buckets.add(point);
+        }
+
+        Map<String, Object> series = new LinkedHashMap<>();
+        series.put("granularity", bucketType);
+        series.put("from", range[0]);
+        series.put("to", range[1]);
+        series.put("total", total);
+        series.put("buckets", buckets);
+        return series;
+    }
+
+    private String parseGranularity(String granularity) {
+        String bucketType = granularity == null ? EnrollmentRollup.BUCKET_DAY : granularity.trim().toUpperCase();
+        if (!List.of(EnrollmentRollup.BUCKET_DAY, EnrollmentRollup.BUCKET_WEEK, EnrollmentRollup.BUCKET_MONTH)
+                .contains(bucketType)) {
+            throw new RuntimeException("Granularity must be one of DAY, WEEK or MONTH");
+        }
+        return bucketType;
+    }
+
+    /**
+     * Align from/to to bucket starts; defaults to the last 30 days, 12 weeks or 12 months
+     */
+    private LocalDate[] resolveRange(String bucketType, LocalDate from, LocalDate to) {
+        LocalDate end = truncate(bucketType, to != null ? to : LocalDate.now());
+        LocalDate start;
+        if (from != null) {
+            start = truncate(bucketType, from);
+        } else {
+            start = switch (bucketType) {
+                case EnrollmentRollup.BUCKET_WEEK -> end.minusWeeks(11);
+                case EnrollmentRollup.BUCKET_MONTH -> end.minusMonths(11);
+                default -> end.minusDays(29);
+            };
+        }
+        if (start.isAfter(end)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+
+        int buckets = 0;
+        for (LocalDate bucket = start; !bucket.isAfter(end); bucket = next(bucketType, bucket)) {
+            if (++buckets > maxBuckets) {
+                throw new RuntimeException("At most " + maxBuckets + " buckets can be requested at once");
+            }
+        }
+        return new LocalDate[]{start, end};
+    }
+
+    // Same bucket starts as Postgres date_trunc: ISO weeks start on Monday
+    private static LocalDate truncate(String bucketType, LocalDate date) {
+        return switch (bucketType) {
+            case EnrollmentRollup.BUCKET_WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case EnrollmentRollup.BUCKET_MONTH -> date.withDayOfMonth(1);
+            default -> date;
+        };
+    }
+
+    private static LocalDate next(String bucketType, LocalDate bucketStart) {
+        return switch (bucketType) {
+            case EnrollmentRollup.BUCKET_WEEK -> bucketStart.plusWeeks(1);
+            case EnrollmentRollup.BUCKET_MONTH -> bucketStart.plusMonths(1);
+            default -> bucketStart.plusDays(1);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.service;
+
+/**
+ * Thrown when a token cannot be verified because verification itself is
+ * unavailable (circuit open, bulkhead full or timed out). Maps to 503.
+ */
+public class AuthUnavailableException extends RuntimeException {
+
+    public AuthUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Batch Lookup - resolves the IDs of a batch-get request with chunked IN
+ * queries and answers in request order, marking IDs that were not found
+ */
+@Component
+public class BatchLookup {
+
+    @Value("${app.batch-get.max-ids:500}")
+    private int maxIds;
+
+    @Value("${app.batch-get.chunk-size:100}")
+    private int chunkSize;
+
+    /**
+     * One { "id", "found", resultKey } entry per requested ID; duplicates are
+     * queried once but answered at every position they were requested
+     */
+    public <T> List<Map<String, Object>> findByIds(List<Long> ids, String resultKey,
+                                                   Function<List<Long>, Iterable<T>> loader,
+                                                   Function<T, Long> idOf) {
+        if (ids.size() > maxIds) {
+            throw new RuntimeException("At most " + maxIds + " IDs can be requested at once");
+        }
+
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, T> byId = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            loader.apply(chunk).forEach(entity -> byId.put(idOf.apply(entity), entity));
+        }
+
+        return ids.stream().map(id -> {
+            T entity = byId.get(id);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", id);
+            result.put("found", entity != null);
+            result.put(resultKey, entity);
+            return result;
+        }).toList();
+    }
+}
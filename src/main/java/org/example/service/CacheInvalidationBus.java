@@ -0,0 +1,223 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster cache invalidation over Postgres LISTEN/NOTIFY.
+ *
+ * Writers call {@link #invalidate}: the entry is evicted locally after commit
+ * and a NOTIFY is issued in the writer's transaction, so Postgres delivers it
+ * to the other nodes only if the transaction commits. Each node LISTENs on a
+ * dedicated connection (outside the pool) and evicts what it is told to.
+ * Notifications sent while a node is disconnected are lost, so the node
+ * bypasses its cache while disconnected and flushes it on every (re)connect.
+ * A silently dead connection (idle drop by a NAT or load balancer, failover
+ * without a reset) only ever returns "no notifications", so the listener also
+ * runs SELECT 1 periodically under a socket timeout and reconnects when it fails.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String CLEAR_ALL_KEYS = "*";
+
+    @Autowired
+    private LocalCache localCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.invalidation.channel:sciqus_cache_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.poll-timeout-ms:5000}")
+    private int pollTimeoutMs;
+
+    @Value("${app.cache.invalidation.liveness-check-ms:15000}")
+    private long livenessCheckMs;
+
+    @Value("${app.cache.invalidation.socket-timeout-s:10}")
+    private int socketTimeoutSeconds;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong livenessChecks = new AtomicLong();
+
+    private volatile boolean running;
+
+    private volatile boolean connected;
+
+    private Thread listenerThread;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Invalidate one cache entry (or the whole cache when key is null) on every node
+     */
+    public void invalidate(String cacheName, String key) {
+        localCache.evict(cacheName, key);
+        if (!enabled) {
+            return;
+        }
+
+        String payload = nodeId + "|" + cacheName + "|" + (key != null ? key : CLEAR_ALL_KEYS);
+        // Inside a transaction NOTIFY is queued and delivered by Postgres on commit only
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+        published.incrementAndGet();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evict again once committed, in case a reader re-cached the old value meanwhile
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    localCache.evict(cacheName, key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get listener connection state and message counters
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        stats.put("connected", connected);
+        stats.put("cacheEnabled", localCache.isEnabled());
+        stats.put("cachedEntries", localCache.size());
+        stats.put("published", published.get());
+        stats.put("received", received.get());
+        stats.put("reconnects", reconnects.get());
+        stats.put("livenessChecks", livenessChecks.get());
+        return stats;
+    }
+
+    private void listen() {
+        long backoffMs = 1000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, connectionProperties())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Anything may have changed while we were not listening
+                localCache.clearAll();
+                localCache.setEnabled(true);
+                connected = true;
+                backoffMs = 1000;
+                log.info("Listening for cache invalidations on channel {}", channel);
+
+                long lastCheck = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() - lastCheck >= livenessCheckMs) {
+                        // Fails with the socket timeout if the server is no longer there
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        livenessChecks.incrementAndGet();
+                        lastCheck = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, retrying in {} ms: {}",
+                            backoffMs, e.getMessage());
+                }
+            } finally {
+                connected = false;
+                localCache.setEnabled(false);
+            }
+
+            if (!running) {
+                return;
+            }
+            reconnects.incrementAndGet();
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoffMs = Math.min(backoffMs * 2, 30_000);
+        }
+    }
+
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("tcpKeepAlive", "true");
+        // Bounds every blocking read, including the liveness check
+        properties.setProperty("socketTimeout", String.valueOf(socketTimeoutSeconds));
+        return properties;
+    }
+
+    private void apply(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        received.incrementAndGet();
+        localCache.evict(parts[1], CLEAR_ALL_KEYS.equals(parts[2]) ? null : parts[2]);
+    }
+}
@@ -3,11 +3,13 @@ package org.example.service;
 
 import org.example.entity.Course;
 import org.example.repository.CourseRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,6 +21,18 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private LocalCache localCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private BatchLookup batchLookup;
+
     /**
      * Create a new course
      */
@@ -28,24 +42,51 @@ public class CourseService {
         if (courseRepository.existsByCourseCode(course.getCourseCode())) {
             throw new RuntimeException("Course code already exists: " + course.getCourseCode());
         }
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        cacheInvalidationBus.invalidate(LocalCache.COURSES, LocalCache.ALL_KEY);
+        return savedCourse;
     }
 
     /**
      * Get all courses
      */
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return localCache.getOrLoad(LocalCache.COURSES, LocalCache.ALL_KEY,
+                () -> requestCoalescer.execute("courses:all", "all", () -> {
+                    List<Course> courses = courseRepository.findAll();
+                    // Result is shared across request threads, so load the roster up front
+                    courses.forEach(course -> Hibernate.initialize(course.getStudents()));
+                    return courses;
+                }));
     }
 
     /**
      * Get course by ID
      */
     public Course getCourseById(Long courseId) {
+        return localCache.getOrLoad(LocalCache.COURSES, String.valueOf(courseId),
+                () -> requestCoalescer.execute("courses:id", courseId, () -> {
+                    Course course = findCourseById(courseId);
+                    Hibernate.initialize(course.getStudents());
+                    return course;
+                }));
+    }
+
+    /**
+     * Get course by ID for use inside a write transaction (roster not loaded)
+     */
+    public Course findCourseById(Long courseId) {
         return courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
     }
 
+    /**
+     * Get several courses by ID in request order, marking IDs that were not found
+     */
+    public List<Map<String, Object>> getCoursesByIds(List<Long> courseIds) {
+        return batchLookup.findByIds(courseIds, "course", courseRepository::findAllById, Course::getCourseId);
+    }
+
     /**
      * Get course by course code
      */
@@ -58,14 +99,17 @@ public class CourseService {
      */
     @Transactional
     public Course updateCourse(Long courseId, Course updatedCourse) {
-        Course existingCourse = getCourseById(courseId);
+        Course existingCourse = findCourseById(courseId);
 
         // Update fields
         existingCourse.setCourseName(updatedCourse.getCourseName());
         existingCourse.setCourseCode(updatedCourse.getCourseCode());
         existingCourse.setCourseDuration(updatedCourse.getCourseDuration());
 
-        return courseRepository.save(existingCourse);
+        Course savedCourse = courseRepository.save(existingCourse);
+        cacheInvalidationBus.invalidate(LocalCache.COURSES, String.valueOf(courseId));
+        cacheInvalidationBus.invalidate(LocalCache.COURSES, LocalCache.ALL_KEY);
+        return savedCourse;
     }
 
 
@@ -75,5 +119,9 @@ public class CourseService {
             throw new RuntimeException("Course not found with ID: " + courseId);
         }
         courseRepository.deleteById(courseId);
+
+        // Deleting a course also deletes its students
+        cacheInvalidationBus.invalidate(LocalCache.COURSES, null);
+        cacheInvalidationBus.invalidate(LocalCache.STUDENTS_BY_UID, null);
     }
 }
\ No newline at end of file
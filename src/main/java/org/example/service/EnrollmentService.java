@@ -0,0 +1,219 @@
+package org.example.service;
+
+import org.example.entity.Course;
+import org.example.entity.Enrollment;
+import org.example.entity.Student;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Enrollment Service - Business logic for student/course enrollments.
+ *
+ * A student's primary course ({@code Student.course}) is always one of their
+ * ACTIVE enrollments: setting it enrolls the student, moving or removing it
+ * drops the old enrollment, and unenrolling from it clears it.
+ */
+@Service
+public class EnrollmentService {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.enrollment.bulk-max-ids:5000}")
+    private int bulkMaxIds;
+
+    /**
+     * Enroll a student in a course, reactivating a dropped enrollment if there is one
+     */
+    @Transactional
+    public Enrollment enroll(Long studentId, Long courseId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with ID: " + studentId));
+        Course course = courseService.findCourseById(courseId);
+        return enroll(student, course);
+    }
+
+    /**
+     * Enroll an already loaded student in an already loaded course
+     */
+    @Transactional
+    public Enrollment enroll(Student student, Course course) {
+        Enrollment enrollment = enrollmentRepository
+                .findByStudentIdAndCourseId(student.getStudentId(), course.getCourseId())
+                .orElseGet(() -> {
+                    Enrollment created = new Enrollment();
+                    created.setStudent(student);
+                    created.setCourse(course);
+                    return created;
+                });
+
+        if (enrollment.getEnrollmentId() == null || !Enrollment.STATUS_ACTIVE.equals(enrollment.getStatus())) {
+            enrollment.setStatus(Enrollment.STATUS_ACTIVE);
+            enrollment.setEnrolledAt(LocalDateTime.now());
+        }
+        return enrollmentRepository.save(enrollment);
+    }
+
+    /**
+     * Enroll many students in one course using batched inserts
+     */
+    @Transactional
+    public Map<String, Object> bulkEnroll(Long courseId, List<Long> studentIds) {
+        if (studentIds.size() > bulkMaxIds) {
+            throw new RuntimeException("At most " + bulkMaxIds + " students can be enrolled at once");
+        }
+        Course course = courseService.findCourseById(courseId);
+
+        Set<Long> requestedIds = new HashSet<>(studentIds);
+        Set<Long> existingStudentIds = new HashSet<>(studentRepository.findExistingIds(requestedIds));
+        List<Long> notFound = requestedIds.stream()
+                .filter(id -> !existingStudentIds.contains(id))
+                .sorted()
+                .toList();
+
+        Map<Long, Enrollment> existingEnrollments = existingStudentIds.isEmpty() ? Map.of()
+                : enrollmentRepository.findByCourseIdAndStudentIds(courseId, existingStudentIds).stream()
+                .collect(Collectors.toMap(e -> e.getStudent().getStudentId(), e -> e));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Enrollment> toSave = new ArrayList<>();
+        int alreadyEnrolled = 0;
+
+        for (Long studentId : existingStudentIds) {
+            Enrollment enrollment = existingEnrollments.get(studentId);
+            if (enrollment == null) {
+                enrollment = new Enrollment();
+                // Reference only; the student rows are not loaded
+                enrollment.setStudent(studentRepository.getReferenceById(studentId));
+                enrollment.setCourse(course);
+            } else if (Enrollment.STATUS_ACTIVE.equals(enrollment.getStatus())) {
+                alreadyEnrolled++;
+                continue;
+            }
+            enrollment.setStatus(Enrollment.STATUS_ACTIVE);
+            enrollment.setEnrolledAt(now);
+            toSave.add(enrollment);
+        }
+
+        enrollmentRepository.saveAll(toSave);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("courseId", courseId);
+        result.put("enrolled", toSave.size());
+        result.put("alreadyEnrolled", alreadyEnrolled);
+        result.put("notFound", notFound);
+        return result;
+    }
+
+    /**
+     * Unenroll a student from a course (the enrollment is kept as DROPPED).
+     * Unenrolling from the primary course also clears the primary course.
+     */
+    @Transactional
+    public void unenroll(Long studentId, Long courseId) {
+        Enrollment enrollment = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId)
+                .filter(e -> Enrollment.STATUS_ACTIVE.equals(e.getStatus()))
+                .orElseThrow(() -> new RuntimeException(
+                        "Student " + studentId + " is not enrolled in course " + courseId));
+        enrollment.setStatus(Enrollment.STATUS_DROPPED);
+        enrollmentRepository.save(enrollment);
+
+        Student student = enrollment.getStudent();
+        if (student.getCourse() != null && courseId.equals(student.getCourse().getCourseId())) {
+            student.setCourse(null);
+            studentRepository.save(student);
+            analyticsService.recordCourseChange(courseId, null, student.getCreatedAt());
+
+            // Same invalidation as a student update: the student and the course responses changed
+            if (student.getFirebaseUid() != null) {
+                cacheInvalidationBus.invalidate(LocalCache.STUDENTS_BY_UID, student.getFirebaseUid());
+            }
+            cacheInvalidationBus.invalidate(LocalCache.COURSES, null);
+        }
+    }
+
+    /**
+     * Drop the enrollment that mirrored a primary course the student has moved away from
+     */
+    @Transactional
+    public void dropPrimaryEnrollment(Long studentId, Long courseId) {
+        enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId)
+                .filter(e -> Enrollment.STATUS_ACTIVE.equals(e.getStatus()))
+                .ifPresent(enrollment -> {
+                    enrollment.setStatus(Enrollment.STATUS_DROPPED);
+                    enrollmentRepository.save(enrollment);
+                });
+    }
+
+    /**
+     * Get the active courses of a student
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getCoursesOfStudent(Long studentId) {
+        return enrollmentRepository.findActiveByStudentIdWithCourse(studentId).stream()
+                .map(this::toCourseMap)
+                .toList();
+    }
+
+    /**
+     * Get a course roster with every course each student is enrolled in.
+     * A fixed three queries regardless of roster size.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getRoster(Long courseId) {
+        courseService.findCourseById(courseId);
+
+        List<Enrollment> roster = enrollmentRepository.findActiveRosterByCourseId(courseId);
+        Map<Long, List<Map<String, Object>>> coursesByStudent = enrollmentRepository
+                .findActiveByRosterOfCourseId(courseId).stream()
+                .collect(Collectors.groupingBy(e -> e.getStudent().getStudentId(),
+                        Collectors.mapping(this::toCourseMap, Collectors.toList())));
+
+        return roster.stream().map(enrollment -> {
+            Student student = enrollment.getStudent();
+            Map<String, Object> studentMap = new LinkedHashMap<>();
+            studentMap.put("studentId", student.getStudentId());
+            studentMap.put("studentName", student.getStudentName());
+            studentMap.put("email", student.getEmail());
+            studentMap.put("enrolledAt", enrollment.getEnrolledAt());
+            studentMap.put("courses", coursesByStudent.getOrDefault(student.getStudentId(), List.of()));
+            return studentMap;
+        }).toList();
+    }
+
+    private Map<String, Object> toCourseMap(Enrollment enrollment) {
+        Course course = enrollment.getCourse();
+        Map<String, Object> courseMap = new LinkedHashMap<>();
+        courseMap.put("courseId", course.getCourseId());
+        courseMap.put("courseName", course.getCourseName());
+        courseMap.put("courseCode", course.getCourseCode());
+        courseMap.put("courseDuration", course.getCourseDuration());
+        courseMap.put("enrolledAt", enrollment.getEnrolledAt());
+        return courseMap;
+    }
+}
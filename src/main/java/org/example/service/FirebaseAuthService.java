@@ -2,32 +2,333 @@ package org.example.service;
 
 
 
-import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Firebase token verification, isolated so a slow Google endpoint cannot tie
+ * up request threads:
+ * - verification runs in a bounded bulkhead with a strict timeout
+ * - repeated failures open a circuit breaker; new tokens then fail fast with
+ *   {@link AuthUnavailableException}
+ * - tokens already verified are served from a cache until they expire, so
+ *   they keep working while the circuit is open
+ * - tokens Firebase rejected are remembered briefly, so a bad token is not
+ *   verified twice per request (interceptor and controller) or on every retry
+ */
 @Service
 public class FirebaseAuthService {
 
-    
+    @Autowired
+    private TokenVerifier tokenVerifier;
+
+    @Value("${app.firebase.verify.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${app.firebase.verify.queue-size:32}")
+    private int queueSize;
+
+    @Value("${app.firebase.verify.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${app.firebase.breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.firebase.breaker.open-ms:30000}")
+    private long openMs;
+
+    @Value("${app.firebase.token-cache.max-size:10000}")
+    private int tokenCacheMaxSize;
+
+    @Value("${app.firebase.token-cache.rejected-ttl-ms:30000}")
+    private long rejectedTtlMs;
+
+    private final Map<String, TokenVerifier.VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    // Invalid token -> rejection message and expiry (epoch millis)
+    private final Map<String, RejectedToken> rejectedTokens = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor bulkhead;
+
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        bulkhead = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "firebase-verify-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        bulkhead.allowCoreThreadTimeOut(true);
+        circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkhead.shutdownNow();
+    }
+
+
     public String verifyToken(String idToken) {
-        try {
-            FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
-            return decodedToken.getUid(); // Return Firebase UID
-        } catch (FirebaseAuthException e) {
-            throw new RuntimeException("Invalid Firebase token: " + e.getMessage());
+        return verify(idToken).uid();
+    }
+
+    /**
+     * Verify a token without blocking the caller; resolves to the Firebase UID
+     */
+    public Mono<String> verifyTokenAsync(String idToken) {
+        TokenVerifier.VerifiedToken cached = getCached(idToken);
+        if (cached != null) {
+            return Mono.just(cached.uid());
         }
+        RejectedToken rejected = getRejected(idToken);
+        if (rejected != null) {
+            return Mono.error(new RuntimeException(rejected.message()));
+        }
+        // suppressCancel: a cancelled subscriber must not skip complete(), which
+        // records the outcome with the breaker and frees a half-open trial
+        return Mono.defer(() -> Mono.fromFuture(submit(idToken)
+                        .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                        .handle((token, error) -> complete(idToken, token, unwrap(error))), true))
+                .map(TokenVerifier.VerifiedToken::uid);
     }
 
-    
+
     public String getEmailFromToken(String idToken) {
+        return verify(idToken).email();
+    }
+
+    /**
+     * Get the circuit breaker state and bulkhead usage
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "circuit", circuitBreaker.getState().name(),
+                "activeVerifications", bulkhead.getActiveCount(),
+                "queuedVerifications", bulkhead.getQueue().size(),
+                "cachedTokens", verifiedTokens.size(),
+                "rejectedTokens", rejectedTokens.size());
+    }
+
+    private TokenVerifier.VerifiedToken verify(String idToken) {
+        TokenVerifier.VerifiedToken cached = getCached(idToken);
+        if (cached != null) {
+            return cached;
+        }
+        RejectedToken rejected = getRejected(idToken);
+        if (rejected != null) {
+            throw new RuntimeException(rejected.message());
+        }
+
+        CompletableFuture<TokenVerifier.VerifiedToken> future = submit(idToken);
+        try {
+            return complete(idToken, future.get(timeoutMs, TimeUnit.MILLISECONDS), null);
+        } catch (ExecutionException e) {
+            return complete(idToken, null, e.getCause());
+        } catch (TimeoutException e) {
+            // Only completes the future: CompletableFuture.cancel does not interrupt the
+            // verifier, which keeps its bulkhead thread until Firebase answers
+            future.cancel(true);
+            return complete(idToken, null, e);
+        } catch (InterruptedException e) {
+            // The caller gave up, not the verifier, which keeps running. Its outcome, bounded
+            // by the same timeout, is recorded when it arrives: a half-open trial this call
+            // holds stays the only trial until then
+            future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                    .whenComplete((token, error) -> completeUnobserved(idToken, token, unwrap(error)));
+            Thread.currentThread().interrupt();
+            throw new AuthUnavailableException("Token verification interrupted");
+        }
+    }
+
+    /**
+     * Hand the token to the bulkhead, failing fast when the circuit is open or the bulkhead is full
+     */
+    private CompletableFuture<TokenVerifier.VerifiedToken> submit(String idToken) {
+        if (!circuitBreaker.allowRequest()) {
+            throw new AuthUnavailableException("Token verification is temporarily unavailable");
+        }
         try {
-            FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
-            return decodedToken.getEmail();
-        } catch (FirebaseAuthException e) {
-            throw new RuntimeException("Invalid Firebase token: " + e.getMessage());
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return tokenVerifier.verify(idToken);
+                } catch (FirebaseAuthException e) {
+                    throw new CompletionException(e);
+                }
+            }, bulkhead);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.releaseTrial();
+            throw new AuthUnavailableException("Too many token verifications in progress");
+        }
+    }
+
+    /**
+     * Record the outcome with the circuit breaker and turn it into a result or an exception
+     */
+    private TokenVerifier.VerifiedToken complete(String idToken, TokenVerifier.VerifiedToken token, Throwable error) {
+        if (error == null) {
+            circuitBreaker.recordSuccess();
+            cache(idToken, token);
+            return token;
+        }
+        if (error instanceof FirebaseAuthException e) {
+            // The verifier answered: the token is bad, the service is fine
+            circuitBreaker.recordSuccess();
+            String message = "Invalid Firebase token: " + e.getMessage();
+            reject(idToken, message);
+            throw new RuntimeException(message);
+        }
+        circuitBreaker.recordFailure();
+        if (error instanceof TimeoutException) {
+            throw new AuthUnavailableException("Token verification timed out");
+        }
+        throw new AuthUnavailableException("Token verification failed: " + error.getMessage());
+    }
+
+    /**
+     * Record the outcome of a verification whose caller has gone away
+     */
+    private void completeUnobserved(String idToken, TokenVerifier.VerifiedToken token, Throwable error) {
+        try {
+            complete(idToken, token, error);
+        } catch (RuntimeException ignored) {
+            // Nobody is waiting for the result
+        }
+    }
+
+    private TokenVerifier.VerifiedToken getCached(String idToken) {
+        TokenVerifier.VerifiedToken cached = verifiedTokens.get(idToken);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtEpochSeconds() * 1000 <= System.currentTimeMillis()) {
+            verifiedTokens.remove(idToken, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    private void cache(String idToken, TokenVerifier.VerifiedToken token) {
+        if (verifiedTokens.size() >= tokenCacheMaxSize) {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(t -> t.expiresAtEpochSeconds() * 1000 <= now);
+            if (verifiedTokens.size() >= tokenCacheMaxSize) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(idToken, token);
+    }
+
+    private RejectedToken getRejected(String idToken) {
+        RejectedToken rejected = rejectedTokens.get(idToken);
+        if (rejected == null) {
+            return null;
+        }
+        if (rejected.expiresAtMillis() <= System.currentTimeMillis()) {
+            rejectedTokens.remove(idToken, rejected);
+            return null;
+        }
+        return rejected;
+    }
+
+    private void reject(String idToken, String message) {
+        if (rejectedTtlMs <= 0) {
+            return;
+        }
+        if (rejectedTokens.size() >= tokenCacheMaxSize) {
+            long now = System.currentTimeMillis();
+            rejectedTokens.values().removeIf(r -> r.expiresAtMillis() <= now);
+            if (rejectedTokens.size() >= tokenCacheMaxSize) {
+                rejectedTokens.clear();
+            }
+        }
+        rejectedTokens.put(idToken, new RejectedToken(message, System.currentTimeMillis() + rejectedTtlMs));
+    }
+
+    private record RejectedToken(String message, long expiresAtMillis) {
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Consecutive-failure circuit breaker. After the open period one trial
+     * call is let through (half-open); its outcome closes or reopens the circuit.
+     */
+    static final class CircuitBreaker {
+
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final int failureThreshold;
+        private final long openMs;
+
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int failureThreshold, long openMs) {
+            this.failureThreshold = failureThreshold;
+            this.openMs = openMs;
+        }
+
+        synchronized boolean allowRequest() {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMs) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void releaseTrial() {
+            trialInFlight = false;
+        }
+
+        synchronized void recordSuccess() {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        synchronized void recordFailure() {
+            trialInFlight = false;
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+        }
+
+        synchronized State getState() {
+            return state;
         }
     }
 }
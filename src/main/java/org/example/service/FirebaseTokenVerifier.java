@@ -0,0 +1,32 @@
+package org.example.service;
+
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token verifier backed by the Firebase Admin SDK
+ */
+@Component
+public class FirebaseTokenVerifier implements TokenVerifier {
+
+    @Override
+    public VerifiedToken verify(String idToken) throws FirebaseAuthException {
+        FirebaseToken decodedToken;
+        try {
+            decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
+        } catch (FirebaseAuthException e) {
+            // Failing to fetch Google's public keys says nothing about the token
+            if (e.getAuthErrorCode() == AuthErrorCode.CERTIFICATE_FETCH_FAILED) {
+                throw new IllegalStateException("Could not fetch Firebase public keys: " + e.getMessage(), e);
+            }
+            throw e;
+        }
+
+        Object exp = decodedToken.getClaims().get("exp");
+        long expiresAt = exp instanceof Number number ? number.longValue() : 0L;
+        return new VerifiedToken(decodedToken.getUid(), decodedToken.getEmail(), expiresAt);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.service;
+
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JVM Stats Service - memory and thread figures of this process, sampled by the
+ * read-path benchmark (org.example.tools.ReadPathBenchmark)
+ */
+@Service
+public class JvmStatsService {
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    /**
+     * Get heap, non-heap, resident set size (Linux only, else null) and live threads
+     */
+    public Map<String, Object> getStats() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("heapUsedBytes", memory.getHeapMemoryUsage().getUsed());
+        stats.put("heapCommittedBytes", memory.getHeapMemoryUsage().getCommitted());
+        stats.put("nonHeapUsedBytes", memory.getNonHeapMemoryUsage().getUsed());
+        stats.put("rssBytes", readRssBytes());
+        stats.put("liveThreads", ManagementFactory.getThreadMXBean().getThreadCount());
+        return stats;
+    }
+
+    private static Long readRssBytes() {
+        if (!Files.isReadable(PROC_STATUS)) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(PROC_STATUS);
+            for (String line : lines) {
+                // e.g. "VmRSS:	  123456 kB"
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Node-local read cache for courses and student lookups. Entries are evicted
+ * through {@link CacheInvalidationBus} so every node drops them after a write.
+ *
+ * Like {@link RequestCoalescer}, calls inside an active transaction bypass the
+ * cache. The cache is also bypassed while the node is not receiving
+ * invalidations (see {@link #setEnabled}). Entries expire after a bounded TTL,
+ * which limits staleness from changes made outside the API (plain SQL sends no NOTIFY).
+ */
+@Component
+public class LocalCache {
+
+    public static final String COURSES = "courses";
+    public static final String STUDENTS_BY_UID = "studentsByUid";
+
+    public static final String ALL_KEY = "all";
+
+    @Value("${app.cache.enabled:true}")
+    private boolean configured;
+
+    @Value("${app.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private volatile boolean enabled;
+
+    private final Map<String, Map<String, Entry>> caches = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction so a load racing with an eviction is not kept
+    private final Map<String, AtomicLong> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * Get a cached value or load and cache it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String cacheName, String key, Supplier<T> loader) {
+        if (!enabled || !configured || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+
+        Map<String, Entry> cache = caches.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>());
+        Entry cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                return (T) cached.value();
+            }
+            cache.remove(key, cached);
+        }
+
+        AtomicLong epoch = epochs.computeIfAbsent(cacheName, name -> new AtomicLong());
+        long loadedAt = epoch.get();
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+        Entry entry = new Entry(value, System.currentTimeMillis() + ttlMs);
+        cache.put(key, entry);
+        if (epoch.get() != loadedAt) {
+            cache.remove(key, entry);
+        }
+        return value;
+    }
+
+    /**
+     * Evict one entry on this node, or the whole cache when key is null
+     */
+    public void evict(String cacheName, String key) {
+        epochs.computeIfAbsent(cacheName, name -> new AtomicLong()).incrementAndGet();
+        Map<String, Entry> cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * Evict every cache on this node
+     */
+    public void clearAll() {
+        for (String cacheName : caches.keySet()) {
+            evict(cacheName, null);
+        }
+    }
+
+    /**
+     * Turn caching on or off for this node; turning it off also drops every entry
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clearAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && configured;
+    }
+
+    public int size() {
+        return caches.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
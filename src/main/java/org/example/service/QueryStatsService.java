@@ -0,0 +1,155 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Query Stats Service - records every SQL statement with its execution time,
+ * row count and the endpoint that issued it. Slow statements, plus a sampled
+ * fraction of the rest, are logged off the request thread.
+ */
+@Service
+public class QueryStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger("org.example.sql");
+
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private static final String NO_ENDPOINT = "background";
+
+    @Value("${app.sql-log.slow-threshold-ms:200}")
+    private long slowThresholdMs;
+
+    @Value("${app.sql-log.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${app.sql-log.top-n:20}")
+    private int topN;
+
+    private final ThreadLocal<String> currentEndpoint = new ThreadLocal<>();
+
+    // Min-heap on duration holding the N slowest executions seen so far
+    private final PriorityQueue<QueryExecution> slowest =
+            new PriorityQueue<>(Comparator.comparingDouble(QueryExecution::durationMs));
+
+    private volatile double slowestFloorMs = 0;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder slowStatements = new LongAdder();
+    private final LongAdder droppedLogLines = new LongAdder();
+
+    // Single background writer; log lines are dropped rather than blocking queries
+    private final ThreadPoolExecutor logWriter = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1000),
+            runnable -> {
+                Thread thread = new Thread(runnable, "sql-log-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> droppedLogLines.increment());
+
+    /**
+     * Tag statements issued by the current thread with an endpoint
+     */
+    public void setCurrentEndpoint(String endpoint) {
+        currentEndpoint.set(endpoint);
+    }
+
+    public void clearCurrentEndpoint() {
+        currentEndpoint.remove();
+    }
+
+    /**
+     * Record one executed statement
+     */
+    public void record(String sql, long durationNanos, long rows) {
+        statements.increment();
+
+        String endpoint = currentEndpoint.get();
+        double durationMs = durationNanos / 1_000_000.0;
+        boolean slow = durationMs >= slowThresholdMs;
+
+        QueryExecution execution = new QueryExecution(
+                endpoint != null ? endpoint : NO_ENDPOINT,
+                truncate(sql), durationMs, rows, Instant.now());
+
+        if (topN > 0 && durationMs >= slowestFloorMs) {
+            offerSlowest(execution);
+        }
+
+        if (slow) {
+            slowStatements.increment();
+            logWriter.execute(() -> log.warn("Slow query {} ms, {} rows [{}]: {}",
+                    String.format("%.1f", execution.durationMs()), execution.rows(),
+                    execution.endpoint(), execution.sql()));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logWriter.execute(() -> log.info("Sampled query {} ms, {} rows [{}]: {}",
+                    String.format("%.1f", execution.durationMs()), execution.rows(),
+                    execution.endpoint(), execution.sql()));
+        }
+    }
+
+    /**
+     * Get the N slowest statements recorded, slowest first
+     */
+    public Map<String, Object> getSlowestQueries() {
+        List<QueryExecution> queries;
+        synchronized (slowest) {
+            queries = new ArrayList<>(slowest);
+        }
+        queries.sort(Comparator.comparingDouble(QueryExecution::durationMs).reversed());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statements", statements.sum());
+        result.put("slowStatements", slowStatements.sum());
+        result.put("slowThresholdMs", slowThresholdMs);
+        result.put("droppedLogLines", droppedLogLines.sum());
+        result.put("slowest", queries);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logWriter.shutdown();
+    }
+
+    private void offerSlowest(QueryExecution execution) {
+        synchronized (slowest) {
+            if (slowest.size() < topN) {
+                slowest.add(execution);
+            } else if (execution.durationMs() > slowest.peek().durationMs()) {
+                slowest.poll();
+                slowest.add(execution);
+            }
+            if (slowest.size() >= topN) {
+                slowestFloorMs = slowest.peek().durationMs();
+            }
+        }
+    }
+
+    private static String truncate(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        return sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+    }
+
+    public record QueryExecution(String endpoint, String sql, double durationMs, long rows, Instant executedAt) {
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.service;
+
+import io.r2dbc.spi.Readable;
+import org.example.entity.Course;
+import org.example.entity.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive Read Service - non-blocking student and course reads over R2DBC.
+ * Writes stay on the JPA services; this only serves the read endpoints.
+ */
+@Service
+public class ReactiveReadService {
+
+    private static final String STUDENT_COLUMNS =
+            "student_id, student_name, email, phone, firebase_uid, role, created_at, updated_at";
+
+    private static final String COURSE_COLUMNS =
+            "course_id, course_name, course_code, course_duration, created_at, updated_at";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Get all students
+     */
+    public Flux<Student> getAllStudents() {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM student")
+                .map(ReactiveReadService::toStudent)
+                .all();
+    }
+
+    /**
+     * Get student by ID
+     */
+    public Mono<Student> getStudentById(Long studentId) {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM student WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .map(ReactiveReadService::toStudent)
+                .one()
+                .switchIfEmpty(Mono.error(new RuntimeException("Student not found with ID: " + studentId)));
+    }
+
+    /**
+     * Get student by Firebase UID
+     */
+    public Mono<Student> getStudentByFirebaseUid(String firebaseUid) {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM student WHERE firebase_uid = :firebaseUid")
+                .bind("firebaseUid", firebaseUid)
+                .map(ReactiveReadService::toStudent)
+                .one()
+                .switchIfEmpty(Mono.error(
+                        new RuntimeException("Student not found with Firebase UID: " + firebaseUid)));
+    }
+
+    /**
+     * Get students enrolled in a specific course
+     */
+    public Flux<Student> getStudentsByCourseId(Long courseId) {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM student WHERE course_id = :courseId")
+                .bind("courseId", courseId)
+                .map(ReactiveReadService::toStudent)
+                .all();
+    }
+
+    /**
+     * Check if user is admin
+     */
+    public Mono<Boolean> isAdmin(String firebaseUid) {
+        return databaseClient.sql("SELECT role FROM student WHERE firebase_uid = :firebaseUid")
+                .bind("firebaseUid", firebaseUid)
+                .map(row -> "ADMIN".equals(row.get("role", String.class)))
+                .one()
+                .switchIfEmpty(Mono.error(new RuntimeException("User not found")));
+    }
+
+    /**
+     * Get all courses (without their student rosters)
+     */
+    public Flux<Course> getAllCourses() {
+        return databaseClient.sql("SELECT " + COURSE_COLUMNS + " FROM course")
+                .map(ReactiveReadService::toCourse)
+                .all();
+    }
+
+    /**
+     * Get course by ID (without its student roster)
+     */
+    public Mono<Course> getCourseById(Long courseId) {
+        return databaseClient.sql("SELECT " + COURSE_COLUMNS + " FROM course WHERE course_id = :courseId")
+                .bind("courseId", courseId)
+                .map(ReactiveReadService::toCourse)
+                .one()
+                .switchIfEmpty(Mono.error(new RuntimeException("Course not found with ID: " + courseId)));
+    }
+
+    private static Student toStudent(Readable row) {
+        Student student = new Student();
+        student.setStudentId(row.get("student_id", Long.class));
+        student.setStudentName(row.get("student_name", String.class));
+        student.setEmail(row.get("email", String.class));
+        student.setPhone(row.get("phone", String.class));
+        student.setFirebaseUid(row.get("firebase_uid", String.class));
+        student.setRole(row.get("role", String.class));
+        student.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        student.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return student;
+    }
+
+    private static Course toCourse(Readable row) {
+        Course course = new Course();
+        course.setCourseId(row.get("course_id", Long.class));
+        course.setCourseName(row.get("course_name", String.class));
+        course.setCourseCode(row.get("course_code", String.class));
+        course.setCourseDuration(row.get("course_duration", Integer.class));
+        course.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        course.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return course;
+    }
+}
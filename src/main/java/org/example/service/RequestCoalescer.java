@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Request Coalescer - lets concurrent callers asking for the same key share
+ * a single in-flight load and its result (single-flight).
+ *
+ * Calls made inside an active transaction are never coalesced, so write paths
+ * always work on entities managed by their own persistence context.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Run the loader for the given key, or join a load already in flight for it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String namespace, Object id, Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+
+        Counters stats = counters.computeIfAbsent(namespace, n -> new Counters());
+        Key key = new Key(namespace, id);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            stats.coalesced.increment();
+            return (T) await(existing);
+        }
+
+        stats.loads.increment();
+        try {
+            T result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Get load/coalesced counts per namespace
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long totalLoads = 0;
+        long totalCoalesced = 0;
+
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            long loads = entry.getValue().loads.sum();
+            long coalesced = entry.getValue().coalesced.sum();
+            totalLoads += loads;
+            totalCoalesced += coalesced;
+
+            Map<String, Object> namespaceStats = new LinkedHashMap<>();
+            namespaceStats.put("loads", loads);
+            namespaceStats.put("coalesced", coalesced);
+            stats.put(entry.getKey(), namespaceStats);
+        }
+
+        stats.put("totalLoads", totalLoads);
+        stats.put("totalCoalesced", totalCoalesced);
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(String namespace, Object id) {
+    }
+
+    private static final class Counters {
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
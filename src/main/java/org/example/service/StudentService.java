@@ -6,12 +6,15 @@ import org.example.entity.Course;
 import org.example.entity.Student;
 import org.example.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Student Service - Business logic for Student operations
@@ -25,6 +28,26 @@ public class StudentService {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private LocalCache localCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    private static final int MAX_CLASSMATE_PAGE_SIZE = 100;
+
+    @Autowired
+    private BatchLookup batchLookup;
+
     /**
      * Add a new student with course assignment
      */
@@ -36,19 +59,28 @@ public class StudentService {
         }
 
         // Validate and assign course if courseId is provided
+        Course course = null;
         if (courseId != null) {
-            Course course = courseService.getCourseById(courseId);
+            course = courseService.findCourseById(courseId);
             student.setCourse(course);
         }
 
-        return studentRepository.save(student);
+        Student savedStudent = studentRepository.save(student);
+
+        // Keep the enrollment table and trend rollups in step with the primary course
+        if (course != null) {
+            enrollmentService.enroll(savedStudent, course);
+            analyticsService.recordCourseChange(null, course.getCourseId(), savedStudent.getCreatedAt());
+        }
+        invalidateCaches(savedStudent.getFirebaseUid());
+        return savedStudent;
     }
 
     /**
      * Get all students
      */
     public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+        return requestCoalescer.execute("students:all", "all", () -> studentRepository.findAll());
     }
 
     /**
@@ -83,23 +115,82 @@ public class StudentService {
      * Get student by ID
      */
     public Student getStudentById(Long studentId) {
-        return studentRepository.findById(studentId)
+        return requestCoalescer.execute("students:id", studentId, () -> studentRepository.findById(studentId))
                 .orElseThrow(() -> new RuntimeException("Student not found with ID: " + studentId));
     }
 
+    /**
+     * Get several students by ID in request order, marking IDs that were not found
+     */
+    public List<Map<String, Object>> getStudentsByIds(List<Long> studentIds) {
+        return batchLookup.findByIds(studentIds, "student", studentRepository::findAllById, Student::getStudentId);
+    }
+
     /**
      * Get student by Firebase UID
      */
     public Student getStudentByFirebaseUid(String firebaseUid) {
-        return studentRepository.findByFirebaseUid(firebaseUid)
+        return findByFirebaseUid(firebaseUid)
                 .orElseThrow(() -> new RuntimeException("Student not found with Firebase UID: " + firebaseUid));
     }
 
+    /**
+     * Get the student home screen in one read: the student, their course,
+     * enrollment size and a page of classmate names (three queries at most)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDashboard(String firebaseUid, int page, int size) {
+        Student student = studentRepository.findWithCourseByFirebaseUid(firebaseUid)
+                .orElseThrow(() -> new RuntimeException("Student not found with Firebase UID: " + firebaseUid));
+        int pageSize = Math.max(1, Math.min(size, MAX_CLASSMATE_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+
+        Map<String, Object> studentMap = new LinkedHashMap<>();
+        studentMap.put("studentId", student.getStudentId());
+        studentMap.put("studentName", student.getStudentName());
+        studentMap.put("email", student.getEmail());
+        studentMap.put("phone", student.getPhone());
+        studentMap.put("role", student.getRole());
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("student", studentMap);
+
+        Course course = student.getCourse();
+        if (course != null) {
+            Map<String, Object> courseMap = new LinkedHashMap<>();
+            courseMap.put("courseId", course.getCourseId());
+            courseMap.put("courseName", course.getCourseName());
+            courseMap.put("courseCode", course.getCourseCode());
+            courseMap.put("courseDuration", course.getCourseDuration());
+            dashboard.put("course", courseMap);
+
+            long enrollmentSize = studentRepository.countStudentsByCourseId(course.getCourseId());
+            List<String> classmates = studentRepository.findClassmateNames(
+                    course.getCourseId(), student.getStudentId(), PageRequest.of(pageNumber, pageSize));
+
+            Map<String, Object> classmatesPage = new LinkedHashMap<>();
+            classmatesPage.put("page", pageNumber);
+            classmatesPage.put("size", pageSize);
+            classmatesPage.put("totalElements", Math.max(enrollmentSize - 1, 0));
+            classmatesPage.put("names", classmates);
+
+            dashboard.put("enrollmentSize", enrollmentSize);
+            dashboard.put("classmates", classmatesPage);
+        } else {
+            dashboard.put("course", null);
+            dashboard.put("enrollmentSize", 0);
+            dashboard.put("classmates", null);
+        }
+
+        return dashboard;
+    }
+
     /**
      * Get students enrolled in a specific course
      */
     public List<Student> getStudentsByCourseId(Long courseId) {
-        return studentRepository.findStudentsByCourseId(courseId);
+        return requestCoalescer.execute("students:course", courseId,
+                () -> studentRepository.findStudentsByCourseId(courseId));
     }
 
     /**
@@ -108,6 +199,7 @@ public class StudentService {
     @Transactional
     public Student updateStudent(Long studentId, Student updatedStudent, Long newCourseId) {
         Student existingStudent = getStudentById(studentId);
+        Long oldCourseId = existingStudent.getCourse() != null ? existingStudent.getCourse().getCourseId() : null;
 
         // Update basic fields
         existingStudent.setStudentName(updatedStudent.getStudentName());
@@ -116,13 +208,22 @@ public class StudentService {
 
         // Update course if newCourseId is provided
         if (newCourseId != null) {
-            Course newCourse = courseService.getCourseById(newCourseId);
+            Course newCourse = courseService.findCourseById(newCourseId);
             existingStudent.setCourse(newCourse);
+            enrollmentService.enroll(existingStudent, newCourse);
         } else {
             existingStudent.setCourse(null); // Remove course association
         }
 
-        return studentRepository.save(existingStudent);
+        // The old primary course's enrollment moves with it
+        if (oldCourseId != null && !oldCourseId.equals(newCourseId)) {
+            enrollmentService.dropPrimaryEnrollment(studentId, oldCourseId);
+        }
+
+        Student savedStudent = studentRepository.save(existingStudent);
+        analyticsService.recordCourseChange(oldCourseId, newCourseId, savedStudent.getCreatedAt());
+        invalidateCaches(savedStudent.getFirebaseUid());
+        return savedStudent;
     }
 
     /**
@@ -130,18 +231,43 @@ public class StudentService {
      */
     @Transactional
     public void deleteStudent(Long studentId) {
-        if (!studentRepository.existsById(studentId)) {
-            throw new RuntimeException("Student not found with ID: " + studentId);
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with ID: " + studentId));
+        studentRepository.delete(student);
+        if (student.getCourse() != null) {
+            analyticsService.recordCourseChange(student.getCourse().getCourseId(), null, student.getCreatedAt());
         }
-        studentRepository.deleteById(studentId);
+        invalidateCaches(student.getFirebaseUid());
     }
 
     /**
-     * Check if user is admin
+     * Check if user is admin. Not cached: roles are changed in SQL, which sends no
+     * invalidation, and a demoted admin must lose access right away.
      */
     public boolean isAdmin(String firebaseUid) {
-        Student student = studentRepository.findByFirebaseUid(firebaseUid)
+        Student student = requestCoalescer.execute("students:firebaseUid", firebaseUid,
+                        () -> studentRepository.findByFirebaseUid(firebaseUid))
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return "ADMIN".equals(student.getRole());
     }
+
+    /**
+     * Look up a student by Firebase UID, sharing the load with concurrent callers
+     */
+    private Optional<Student> findByFirebaseUid(String firebaseUid) {
+        return localCache.getOrLoad(LocalCache.STUDENTS_BY_UID, firebaseUid,
+                () -> requestCoalescer.execute("students:firebaseUid", firebaseUid,
+                        () -> studentRepository.findByFirebaseUid(firebaseUid)));
+    }
+
+    /**
+     * Drop cached lookups affected by a student write, on every node.
+     * Course responses embed their students, so cached courses go as well.
+     */
+    private void invalidateCaches(String firebaseUid) {
+        if (firebaseUid != null) {
+            cacheInvalidationBus.invalidate(LocalCache.STUDENTS_BY_UID, firebaseUid);
+        }
+        cacheInvalidationBus.invalidate(LocalCache.COURSES, null);
+    }
 }
@@ -0,0 +1,22 @@
+package org.example.service;
+
+import com.google.firebase.auth.FirebaseAuthException;
+
+/**
+ * Verifies a Firebase ID token. The Firebase-backed implementation is
+ * {@link FirebaseTokenVerifier}; {@link FirebaseAuthService} wraps whichever
+ * verifier is registered with its bulkhead, timeout and circuit breaker.
+ */
+public interface TokenVerifier {
+
+    /**
+     * Verify the token
+     *
+     * @throws FirebaseAuthException if the token itself is invalid
+     * @throws RuntimeException      if the verifier could not reach a decision (e.g. key fetch failed)
+     */
+    VerifiedToken verify(String idToken) throws FirebaseAuthException;
+
+    record VerifiedToken(String uid, String email, long expiresAtEpochSeconds) {
+    }
+}
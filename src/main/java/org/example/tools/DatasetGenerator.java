@@ -0,0 +1,478 @@
+package org.example.tools;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic dataset generator for scale testing.
+ *
+ * Streams deterministic rows for course, student and enrollment into Postgres
+ * with COPY FROM STDIN, in parallel chunks. Secondary indexes, unique
+ * constraints and foreign keys are dropped before the load and rebuilt
+ * afterwards, and the enrollment_rollup trend table is rebuilt. Each row is
+ * derived from (seed, row id, --as-of) only, so the same options produce the
+ * same data whatever the thread count or chunk size.
+ *
+ * The schema must already exist (start the application once so Flyway runs).
+ *
+ * Run with: ./gradlew generateDataset -PdatasetArgs="--students=10000000 --courses=2000 --seed=42 --truncate"
+ *
+ * Options (defaults in brackets):
+ *   --url [jdbc:postgresql://localhost:5432/DB]  --user [postgres]  --password [$PGPASSWORD]
+ *   --students [10000000]  --courses [2000]  --seed [42]
+ *   --skew [2.0]             course popularity skew; 1.0 is uniform, higher is more skewed
+ *   --extra-enrollments [2]  maximum additional enrollments per student
+ *   --days [730]             spread of created_at over the N days before --as-of
+ *   --as-of [2025-01-01T00:00:00]  fixed end of that range; timestamps never depend on the clock
+ *   --threads [CPU count]  --chunk-size [250000]
+ *   --truncate               empty course, student, enrollment and enrollment_rollup first (required if not empty)
+ */
+public class DatasetGenerator {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Amit", "Ananya", "Arjun", "Diya", "Ishaan", "Kavya", "Meera", "Neha",
+            "Nikhil", "Priya", "Rahul", "Riya", "Rohan", "Sakshi", "Sanjay", "Sneha", "Tanvi", "Vikram",
+            "Alex", "Emma", "Liam", "Noah", "Olivia", "Sofia", "Mateo", "Chen", "Yuki", "Fatima"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta", "Joshi", "Kulkarni", "Mehta", "Desai",
+            "Smith", "Garcia", "Kim", "Nguyen", "Muller", "Rossi", "Silva", "Tanaka", "Khan", "Okafor"
+    };
+
+    private static final String[] SUBJECTS = {
+            "Java", "Databases", "Algorithms", "Networks", "Statistics", "Calculus", "Physics", "Chemistry",
+            "Economics", "Design", "Marketing", "Biology", "Linear Algebra", "Operating Systems", "Writing"
+    };
+
+    private static final String[] LEVELS = {"Introduction to", "Intermediate", "Advanced", "Applied", "Topics in"};
+
+    /**
+     * Constraints and indexes rebuilt after the load. These mirror the Flyway
+     * migrations V1-V3 and must be kept in step with them. Existing constraints
+     * are found by table and columns, not by name: on a database baselined at V1
+     * they carry Hibernate-generated names, and are re-added under these names.
+     */
+    private static final DeferredConstraint[] DEFERRED_CONSTRAINTS = {
+            DeferredConstraint.unique("uk_course_course_code", "course", "course_code"),
+            DeferredConstraint.unique("uk_student_email", "student", "email"),
+            DeferredConstraint.unique("uk_student_firebase_uid", "student", "firebase_uid"),
+            DeferredConstraint.foreignKey("fk_student_course", "student", "course_id", "course", ""),
+            DeferredConstraint.unique("uk_enrollment_student_course", "enrollment", "student_id", "course_id"),
+            DeferredConstraint.foreignKey("fk_enrollment_student", "enrollment", "student_id", "student",
+                    " ON DELETE CASCADE"),
+            DeferredConstraint.foreignKey("fk_enrollment_course", "enrollment", "course_id", "course",
+                    " ON DELETE CASCADE"),
+    };
+
+    private static final String[][] DEFERRED_INDEXES = {
+            {"idx_student_course_name", "student (course_id, student_name, student_id)"},
+            {"idx_student_created_at", "student (created_at)"},
+            {"idx_student_course_created_at", "student (course_id, created_at)"},
+            {"idx_student_updated_at", "student (updated_at)"},
+            {"idx_course_created_at", "course (created_at)"},
+            {"idx_course_updated_at", "course (updated_at)"},
+            {"idx_enrollment_course_status", "enrollment (course_id, status, student_id)"},
+    };
+
+    private final Map<String, String> options;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final long students;
+    private final int courses;
+    private final long seed;
+    private final double skew;
+    private final int extraEnrollments;
+    private final int days;
+    private final int threads;
+    private final long chunkSize;
+    private final LocalDateTime asOf;
+
+    private DatasetGenerator(Map<String, String> options) {
+        this.options = options;
+        this.url = option("url", "jdbc:postgresql://localhost:5432/DB");
+        this.user = option("user", "postgres");
+        this.password = option("password", System.getenv().getOrDefault("PGPASSWORD", ""));
+        this.students = Long.parseLong(option("students", "10000000"));
+        this.courses = Integer.parseInt(option("courses", "2000"));
+        this.seed = Long.parseLong(option("seed", "42"));
+        this.skew = Double.parseDouble(option("skew", "2.0"));
+        this.extraEnrollments = Integer.parseInt(option("extra-enrollments", "2"));
+        this.days = Integer.parseInt(option("days", "730"));
+        this.threads = Integer.parseInt(option("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.chunkSize = Long.parseLong(option("chunk-size", "250000"));
+        this.asOf = LocalDateTime.parse(option("as-of", "2025-01-01T00:00:00"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String[] parts = arg.substring(2).split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+        new DatasetGenerator(options).run();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private void run() throws Exception {
+        if (extraEnrollments >= courses) {
+            throw new IllegalArgumentException("--extra-enrollments must be smaller than --courses");
+        }
+        long started = System.nanoTime();
+
+        try (Connection connection = connect()) {
+            prepareTables(connection);
+
+            log("Dropping secondary indexes and constraints");
+            try (Statement statement = connection.createStatement()) {
+                for (String[] index : DEFERRED_INDEXES) {
+                    statement.execute("DROP INDEX IF EXISTS " + index[0]);
+                }
+                // Reverse order so foreign keys go before the unique constraints they may depend on
+                for (int i = DEFERRED_CONSTRAINTS.length - 1; i >= 0; i--) {
+                    DeferredConstraint constraint = DEFERRED_CONSTRAINTS[i];
+                    for (String existing : findConstraints(connection, constraint)) {
+                        log("Dropping constraint " + existing + " on " + constraint.table());
+                        statement.execute("ALTER TABLE " + constraint.table()
+                                + " DROP CONSTRAINT \"" + existing.replace("\"", "\"\"") + "\"");
+                    }
+                }
+            }
+
+            log("Loading " + courses + " courses");
+            copyCourses(connection);
+        }
+
+        log("Loading " + students + " students with enrollments using " + threads + " threads");
+        loadStudentsInParallel();
+
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET maintenance_work_mem = '" + option("maintenance-work-mem", "1GB") + "'");
+
+                for (DeferredConstraint constraint : DEFERRED_CONSTRAINTS) {
+                    if (!findConstraints(connection, constraint).isEmpty()) {
+                        continue;
+                    }
+                    log("Adding constraint " + constraint.name());
+                    statement.execute("ALTER TABLE " + constraint.table() + " ADD CONSTRAINT " + constraint.name()
+                            + " " + constraint.definition());
+                }
+                for (String[] index : DEFERRED_INDEXES) {
+                    log("Creating index " + index[0]);
+                    statement.execute("CREATE INDEX " + index[0] + " ON " + index[1]);
+                }
+
+                log("Resetting id sequences");
+                statement.execute("SELECT setval(pg_get_serial_sequence('course', 'course_id'), "
+                        + "GREATEST((SELECT MAX(course_id) FROM course), 1))");
+                statement.execute("SELECT setval(pg_get_serial_sequence('student', 'student_id'), "
+                        + "GREATEST((SELECT MAX(student_id) FROM student), 1))");
+                statement.execute("SELECT setval('enrollment_seq', "
+                        + "GREATEST((SELECT MAX(enrollment_id) FROM enrollment), 1))");
+
+                // Same bucketing as EnrollmentRollupRepository.rebuildCourse, for all courses at once (offline load)
+                log("Rebuilding enrollment rollups");
+                statement.execute("DELETE FROM enrollment_rollup");
+                statement.execute("INSERT INTO enrollment_rollup (course_id, bucket_type, bucket_start, new_students) "
+                        + "SELECT s.course_id, b.bucket_type, CAST(date_trunc(b.unit, s.created_at) AS DATE), COUNT(*) "
+                        + "FROM student s CROSS JOIN "
+                        + "(VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month')) AS b (bucket_type, unit) "
+                        + "WHERE s.course_id IS NOT NULL AND s.created_at IS NOT NULL "
+                        + "GROUP BY s.course_id, b.bucket_type, CAST(date_trunc(b.unit, s.created_at) AS DATE)");
+
+                log("Analyzing");
+                statement.execute("ANALYZE course");
+                statement.execute("ANALYZE student");
+                statement.execute("ANALYZE enrollment");
+                statement.execute("ANALYZE enrollment_rollup");
+            }
+        }
+
+        log(String.format("Done in %.1f s", (System.nanoTime() - started) / 1e9));
+    }
+
+    /**
+     * Names of the existing constraints equivalent to this one: same table, kind,
+     * columns in order and, for foreign keys, referenced table
+     */
+    private static List<String> findConstraints(Connection connection, DeferredConstraint constraint)
+            throws SQLException {
+        String sql = "SELECT c.conname FROM pg_constraint c "
+                + "WHERE c.conrelid = CAST(? AS regclass) AND c.contype = CAST(? AS \"char\") "
+                + "AND (? = '' OR c.confrelid = CAST(NULLIF(?, '') AS regclass)) "
+                + "AND ARRAY(SELECT a.attname::text FROM unnest(c.conkey) WITH ORDINALITY AS k (attnum, ord) "
+                + "JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = k.attnum ORDER BY k.ord) = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, constraint.table());
+            statement.setString(2, constraint.type());
+            statement.setString(3, constraint.referencedTable());
+            statement.setString(4, constraint.referencedTable());
+            statement.setArray(5, connection.createArrayOf("text", constraint.columns()));
+            List<String> names = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+            return names;
+        }
+    }
+
+    private void prepareTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (options.containsKey("truncate")) {
+                log("Truncating course, student, enrollment and enrollment_rollup");
+                statement.execute("TRUNCATE enrollment_rollup, enrollment, student, course RESTART IDENTITY CASCADE");
+                return;
+            }
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT EXISTS (SELECT 1 FROM course) OR EXISTS (SELECT 1 FROM student)")) {
+                rs.next();
+                if (rs.getBoolean(1)) {
+                    throw new IllegalStateException("Tables are not empty; pass --truncate to replace their contents");
+                }
+            }
+        }
+    }
+
+    private void copyCourses(Connection connection) throws SQLException {
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY course (course_id, course_name, course_code, course_duration, created_at, updated_at) "
+                        + "FROM STDIN");
+        CopyBuffer buffer = new CopyBuffer(copy);
+        try {
+            for (int courseId = 1; courseId <= courses; courseId++) {
+                SplittableRandom random = rowRandom(-courseId);
+                String name = LEVELS[random.nextInt(LEVELS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)];
+                String createdAt = timestamp(random);
+                buffer.row(courseId, name + " " + courseId, "C" + courseId, 1 + random.nextInt(24),
+                        createdAt, createdAt);
+            }
+            buffer.finish();
+        } catch (SQLException | RuntimeException e) {
+            buffer.cancel();
+            throw e;
+        }
+    }
+
+    private void loadStudentsInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicLong loaded = new AtomicLong();
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long first = 1; first <= students; first += chunkSize) {
+                long from = first;
+                long to = Math.min(first + chunkSize - 1, students);
+                chunks.add(executor.submit(() -> {
+                    copyStudentChunk(from, to);
+                    long total = loaded.addAndGet(to - from + 1);
+                    log(String.format("  %,d / %,d students", total, students));
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Load students [from, to] and their enrollments on one connection
+     */
+    private void copyStudentChunk(long from, long to) throws SQLException {
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET synchronous_commit = off");
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+            CopyBuffer studentBuffer = new CopyBuffer(pgConnection.getCopyAPI().copyIn(
+                    "COPY student (student_id, student_name, email, phone, firebase_uid, role, "
+                            + "created_at, updated_at, course_id) FROM STDIN"));
+            List<long[]> enrollments = new ArrayList<>();
+            try {
+                for (long studentId = from; studentId <= to; studentId++) {
+                    SplittableRandom random = rowRandom(studentId);
+                    String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    String phone = String.valueOf(6_000_000_000L + random.nextLong(4_000_000_000L));
+                    String createdAt = timestamp(random);
+                    int courseId = pickCourse(random);
+
+                    studentBuffer.row(studentId, name, "student" + studentId + "@example.test", phone,
+                            "uid-" + studentId + "-" + Long.toHexString(random.nextLong()), "STUDENT",
+                            createdAt, createdAt, courseId);
+
+                    // Primary course first, then up to extraEnrollments distinct others
+                    long[] courseIds = new long[1 + random.nextInt(extraEnrollments + 1)];
+                    courseIds[0] = courseId;
+                    for (int k = 1; k < courseIds.length; k++) {
+                        long candidate;
+                        do {
+                            candidate = pickCourse(random);
+                        } while (contains(courseIds, k, candidate));
+                        courseIds[k] = candidate;
+                    }
+                    enrollments.add(courseIds);
+                }
+                studentBuffer.finish();
+            } catch (SQLException | RuntimeException e) {
+                studentBuffer.cancel();
+                throw e;
+            }
+
+            CopyBuffer enrollmentBuffer = new CopyBuffer(pgConnection.getCopyAPI().copyIn(
+                    "COPY enrollment (enrollment_id, student_id, course_id, enrolled_at, status) FROM STDIN"));
+            try {
+                for (long studentId = from; studentId <= to; studentId++) {
+                    long[] courseIds = enrollments.get((int) (studentId - from));
+                    SplittableRandom random = rowRandom(studentId ^ 0x5DEECE66DL);
+                    for (int k = 0; k < courseIds.length; k++) {
+                        // Stable id: each student owns a block of (extraEnrollments + 1) ids
+                        long enrollmentId = (studentId - 1) * (extraEnrollments + 1) + k + 1;
+                        enrollmentBuffer.row(enrollmentId, studentId, courseIds[k], timestamp(random), "ACTIVE");
+                    }
+                }
+                enrollmentBuffer.finish();
+            } catch (SQLException | RuntimeException e) {
+                enrollmentBuffer.cancel();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Skewed course choice: low course ids are the popular ones
+     */
+    private int pickCourse(SplittableRandom random) {
+        return 1 + (int) Math.min(courses - 1, (long) (courses * Math.pow(random.nextDouble(), skew)));
+    }
+
+    private String timestamp(SplittableRandom random) {
+        return asOf.minusSeconds(random.nextLong((long) days * 86_400L)).format(TIMESTAMP);
+    }
+
+    private SplittableRandom rowRandom(long rowId) {
+        // SplitMix64 finaliser so neighbouring ids get unrelated streams
+        long z = seed + rowId * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    private static void log(String message) {
+        System.out.println("[dataset] " + message);
+    }
+
+    /**
+     * A unique ("u") or foreign key ("f") constraint dropped for the load
+     */
+    private record DeferredConstraint(String name, String table, String type, String[] columns,
+                                      String referencedTable, String definition) {
+
+        static DeferredConstraint unique(String name, String table, String... columns) {
+            return new DeferredConstraint(name, table, "u", columns, "",
+                    "UNIQUE (" + String.join(", ", columns) + ")");
+        }
+
+        static DeferredConstraint foreignKey(String name, String table, String column, String referencedTable,
+                                             String onDelete) {
+            return new DeferredConstraint(name, table, "f", new String[]{column}, referencedTable,
+                    "FOREIGN KEY (" + column + ") REFERENCES " + referencedTable + " (" + column + ")" + onDelete);
+        }
+    }
+
+    /**
+     * Buffers COPY text-format rows and streams them to the server in large writes.
+     * Generated values never contain tabs, newlines or backslashes, so no escaping is needed.
+     */
+    private static final class CopyBuffer {
+
+        private static final int FLUSH_BYTES = 1 << 20;
+
+        private final CopyIn copy;
+        private final StringBuilder rows = new StringBuilder(FLUSH_BYTES + 4096);
+
+        CopyBuffer(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    rows.append('\t');
+                }
+                rows.append(values[i] == null ? "\\N" : values[i]);
+            }
+            rows.append('\n');
+            if (rows.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        void finish() throws SQLException {
+            flush();
+            copy.endCopy();
+        }
+
+        void cancel() {
+            try {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            } catch (SQLException ignored) {
+                // The original failure is more useful than this one
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            rows.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package org.example.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servlet vs. reactive read-path benchmark.
+ *
+ * Sends the same number of concurrent GETs to a servlet endpoint and its
+ * /api/reactive counterpart of a running instance. While each run is in flight it
+ * samples the instance's database connections (pg_stat_activity) and its heap,
+ * RSS and thread count (GET /api/metrics/jvm, admin token required), then prints
+ * throughput, latency percentiles and the peak/mean of each sample per path.
+ *
+ * The default pair, GET /api/students/{id}, returns the same JSON on both stacks
+ * and reads the database on every request on both (the servlet side is not
+ * behind LocalCache). {id} cycles through --ids so concurrent requests do not
+ * share one coalesced load. Before measuring, both paths are fetched once and
+ * the run stops if their bodies differ. Other paths must meet the same bar; for
+ * a cached servlet path start the instance with app.cache.enabled=false.
+ *
+ * Run with: ./gradlew benchmarkReads -PbenchmarkArgs="--token=$TOKEN --requests=10000 --concurrency=10000"
+ * At high concurrency raise the open file limit first (ulimit -n).
+ *
+ * Options (defaults in brackets):
+ *   --base-url [http://localhost:8080]  --token (admin Firebase ID token, required)
+ *   --servlet-path [/api/students/{id}]  --reactive-path [/api/reactive/students/{id}]
+ *   --ids [1-10000]  --requests [10000]  --concurrency [10000]  --warmup [500]  --sample-ms [100]
+ *   --output (also write the results table to this file, as Markdown)
+ *   --url [jdbc:postgresql://localhost:5432/DB]  --user [postgres]  --password [$PGPASSWORD]
+ */
+public class ReadPathBenchmark {
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final String token;
+    private final int requests;
+    private final int concurrency;
+    private final int warmup;
+    private final long sampleMs;
+    private final long firstId;
+    private final long idCount;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ReadPathBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080");
+        this.token = options.get("token");
+        this.requests = Integer.parseInt(option("requests", "10000"));
+        this.concurrency = Integer.parseInt(option("concurrency", "10000"));
+        this.warmup = Integer.parseInt(option("warmup", "500"));
+        this.sampleMs = Long.parseLong(option("sample-ms", "100"));
+        String[] ids = option("ids", "1-10000").split("-", 2);
+        this.firstId = Long.parseLong(ids[0]);
+        this.idCount = (ids.length > 1 ? Long.parseLong(ids[1]) : firstId) - firstId + 1;
+        if (idCount < 1) {
+            throw new IllegalArgumentException("--ids must be a range such as 1-10000");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String[] parts = arg.substring(2).split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+        if (!options.containsKey("token")) {
+            throw new IllegalArgumentException("--token=<admin Firebase ID token> is required");
+        }
+        new ReadPathBenchmark(options).run();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private void run() throws Exception {
+        String servletPath = option("servlet-path", "/api/students/{id}");
+        String reactivePath = option("reactive-path", "/api/reactive/students/{id}");
+        checkSamePayload(servletPath, reactivePath);
+
+        List<Result> results = new ArrayList<>();
+        results.add(runPath(servletPath));
+        results.add(runPath(reactivePath));
+
+        System.out.println();
+        System.out.printf("%-30s %8s %7s %9s %8s %8s %11s %11s %10s %10s %9s%n",
+                "path", "ok", "errors", "req/s", "p50 ms", "p99 ms",
+                "db conns", "db active", "heap MB", "rss MB", "threads");
+        for (Result result : results) {
+            System.out.printf("%-30s %8d %7d %9.0f %8.1f %8.1f %11s %11s %10s %10s %9s%n",
+                    result.path, result.ok, result.errors, result.throughput, result.p50Ms, result.p99Ms,
+                    result.dbConnections, result.dbActive, result.heapMb, result.rssMb, result.threads);
+        }
+        System.out.println("(sampled columns: peak/mean while the run was in flight)");
+
+        if (options.containsKey("output")) {
+            writeMarkdown(Path.of(options.get("output")), results);
+            log("Results written to " + options.get("output"));
+        }
+    }
+
+    /**
+     * Fetch the first ID from both paths; a comparison of different payloads means nothing
+     */
+    private void checkSamePayload(String servletPath, String reactivePath) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        HttpResponse<String> servlet = client.send(request(servletPath, firstId),
+                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> reactive = client.send(request(reactivePath, firstId),
+                HttpResponse.BodyHandlers.ofString());
+        if (servlet.statusCode() != 200 || reactive.statusCode() != 200
+                || !objectMapper.readTree(servlet.body()).equals(objectMapper.readTree(reactive.body()))) {
+            throw new IllegalStateException("The two paths must return the same payload for ID " + firstId
+                    + "\n  " + servletPath + " -> " + servlet.statusCode() + " " + servlet.body()
+                    + "\n  " + reactivePath + " -> " + reactive.statusCode() + " " + reactive.body());
+        }
+    }
+
+    private HttpRequest request(String path, long id) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path.replace("{id}", String.valueOf(id))))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private void writeMarkdown(Path output, List<Result> results) throws IOException {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%,d requests, %,d in flight, IDs %d-%d, %s%n%n",
+                requests, concurrency, firstId, firstId + idCount - 1, Instant.now()));
+        table.append("| path | ok | errors | req/s | p50 ms | p99 ms | db conns | db active | heap MB | rss MB | threads |\n");
+        table.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (Result result : results) {
+            table.append(String.format("| `%s` | %d | %d | %.0f | %.1f | %.1f | %s | %s | %s | %s | %s |%n",
+                    result.path, result.ok, result.errors, result.throughput, result.p50Ms, result.p99Ms,
+                    result.dbConnections, result.dbActive, result.heapMb, result.rssMb, result.threads));
+        }
+        table.append("\nSampled columns are peak/mean while the run was in flight.\n");
+        Files.writeString(output, table);
+    }
+
+    private Result runPath(String path) throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+        // HTTP/1.1 so every in-flight request holds its own connection, like independent clients
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(clientExecutor)
+                .build();
+        log("Warming up " + path);
+        fire(client, path, warmup, Math.min(concurrency, 50), new long[warmup], new AtomicInteger());
+
+        Sampler sampler = new Sampler();
+        ScheduledExecutorService samplerExecutor = Executors.newSingleThreadScheduledExecutor();
+        samplerExecutor.scheduleAtFixedRate(sampler::sample, 0, sampleMs, TimeUnit.MILLISECONDS);
+
+        log(String.format("Sending %,d requests to %s with %,d in flight", requests, path, concurrency));
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        long started = System.nanoTime();
+        fire(client, path, requests, concurrency, latencies, errors);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        samplerExecutor.shutdownNow();
+        samplerExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        sampler.close();
+        clientExecutor.shutdownNow();
+
+        long[] sorted = Arrays.stream(latencies).filter(l -> l > 0).sorted().toArray();
+        Result result = new Result();
+        result.path = path;
+        result.errors = errors.get();
+        result.ok = requests - result.errors;
+        result.throughput = requests / elapsedSeconds;
+        result.p50Ms = percentile(sorted, 0.50) / 1e6;
+        result.p99Ms = percentile(sorted, 0.99) / 1e6;
+        result.dbConnections = sampler.dbConnections.summary(1);
+        result.dbActive = sampler.dbActive.summary(1);
+        result.heapMb = sampler.heapBytes.summary(1024 * 1024);
+        result.rssMb = sampler.rssBytes.summary(1024 * 1024);
+        result.threads = sampler.threads.summary(1);
+        return result;
+    }
+
+    /**
+     * Send count requests with at most inFlight outstanding, cycling through the IDs;
+     * latencies in nanos, 0 on error
+     */
+    private void fire(HttpClient client, String path, int count, int inFlight,
+                      long[] latencies, AtomicInteger errors) throws InterruptedException {
+        Semaphore permits = new Semaphore(inFlight);
+        CountDownLatch done = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            permits.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            client.sendAsync(request(path, firstId + i % idCount), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error == null && response.statusCode() / 100 == 2) {
+                            latencies[index] = System.nanoTime() - sent;
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                        permits.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static void log(String message) {
+        System.out.println("[benchmark] " + message);
+    }
+
+    /**
+     * Samples database connections and the instance's JVM figures on its own connections,
+     * so the samples do not queue behind the load
+     */
+    private final class Sampler {
+
+        private final Series dbConnections = new Series();
+        private final Series dbActive = new Series();
+        private final Series heapBytes = new Series();
+        private final Series rssBytes = new Series();
+        private final Series threads = new Series();
+
+        private final HttpClient metricsClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final HttpRequest jvmRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/metrics/jvm"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        private Connection connection;
+
+        void sample() {
+            try {
+                if (connection == null) {
+                    connection = DriverManager.getConnection(option("url", "jdbc:postgresql://localhost:5432/DB"),
+                            option("user", "postgres"),
+                            option("password", System.getenv().getOrDefault("PGPASSWORD", "")));
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT count(*), count(*) FILTER (WHERE state = 'active') "
+                             + "FROM pg_stat_activity WHERE datname = current_database() AND pid <> pg_backend_pid()")) {
+                    rs.next();
+                    dbConnections.add(rs.getLong(1));
+                    dbActive.add(rs.getLong(2));
+                }
+            } catch (SQLException e) {
+                log("pg_stat_activity sample failed: " + e.getMessage());
+            }
+
+            try {
+                HttpResponse<String> response = metricsClient.send(jvmRequest, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    JsonNode stats = objectMapper.readTree(response.body());
+                    heapBytes.add(stats.path("heapUsedBytes").asLong());
+                    if (!stats.path("rssBytes").isNull()) {
+                        rssBytes.add(stats.path("rssBytes").asLong());
+                    }
+                    threads.add(stats.path("liveThreads").asLong());
+                }
+            } catch (Exception e) {
+                // The instance may be saturated; a missing sample is itself a data point
+            }
+        }
+
+        void close() throws SQLException {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    private static final class Series {
+
+        private long count;
+        private long sum;
+        private long max;
+
+        synchronized void add(long value) {
+            count++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+
+        synchronized String summary(long divisor) {
+            if (count == 0) {
+                return "n/a";
+            }
+            return (max / divisor) + "/" + (sum / count / divisor);
+        }
+    }
+
+    private static final class Result {
+        String path;
+        int ok;
+        int errors;
+        double throughput;
+        double p50Ms;
+        double p99Ms;
+        String dbConnections;
+        String dbActive;
+        String heapMb;
+        String rssMb;
+        String threads;
+    }
+}
@@ -0,0 +1,27 @@
+-- Baseline schema, matching what Hibernate generated with ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS course (
+    course_id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_name     VARCHAR(100) NOT NULL,
+    course_code     VARCHAR(20)  NOT NULL,
+    course_duration INTEGER      NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT uk_course_course_code UNIQUE (course_code)
+);
+
+CREATE TABLE IF NOT EXISTS student (
+    student_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_name VARCHAR(100) NOT NULL,
+    email        VARCHAR(100) NOT NULL,
+    phone        VARCHAR(20),
+    firebase_uid VARCHAR(255),
+    role         VARCHAR(20),
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    course_id    BIGINT,
+    CONSTRAINT uk_student_email UNIQUE (email),
+    CONSTRAINT uk_student_firebase_uid UNIQUE (firebase_uid),
+    CONSTRAINT fk_student_course FOREIGN KEY (course_id) REFERENCES course (course_id)
+);
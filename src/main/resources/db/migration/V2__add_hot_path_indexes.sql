@@ -0,0 +1,15 @@
+-- Indexes for the repository queries. email, firebase_uid and course_code are
+-- already covered by their unique constraints.
+
+-- findStudentsByCourseId, countStudentsByCourseId and the dashboard classmate page
+-- (WHERE course_id = ? ORDER BY student_name, student_id); covering for the name list.
+CREATE INDEX IF NOT EXISTS idx_student_course_name
+    ON student (course_id, student_name, student_id);
+
+-- Time-ordered scans of students, overall and per course
+CREATE INDEX IF NOT EXISTS idx_student_created_at ON student (created_at);
+CREATE INDEX IF NOT EXISTS idx_student_course_created_at ON student (course_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_student_updated_at ON student (updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_course_created_at ON course (created_at);
+CREATE INDEX IF NOT EXISTS idx_course_updated_at ON course (updated_at);
@@ -0,0 +1,27 @@
+-- Many-to-many enrollment between students and courses.
+-- IDs come from a pooled sequence (not IDENTITY) so Hibernate can batch inserts.
+
+CREATE SEQUENCE IF NOT EXISTS enrollment_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS enrollment (
+    enrollment_id BIGINT       PRIMARY KEY,
+    student_id    BIGINT       NOT NULL,
+    course_id     BIGINT       NOT NULL,
+    enrolled_at   TIMESTAMP(6) NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    CONSTRAINT uk_enrollment_student_course UNIQUE (student_id, course_id),
+    CONSTRAINT fk_enrollment_student FOREIGN KEY (student_id) REFERENCES student (student_id) ON DELETE CASCADE,
+    CONSTRAINT fk_enrollment_course FOREIGN KEY (course_id) REFERENCES course (course_id) ON DELETE CASCADE
+);
+
+-- Per-student course lists are served by the (student_id, course_id) unique index.
+-- Course rosters: WHERE course_id = ? AND status = 'ACTIVE'
+CREATE INDEX IF NOT EXISTS idx_enrollment_course_status
+    ON enrollment (course_id, status, student_id);
+
+-- Carry over the existing single-course assignments
+INSERT INTO enrollment (enrollment_id, student_id, course_id, enrolled_at, status)
+SELECT nextval('enrollment_seq'), student_id, course_id, COALESCE(created_at, now()), 'ACTIVE'
+FROM student
+WHERE course_id IS NOT NULL
+ON CONFLICT (student_id, course_id) DO NOTHING;
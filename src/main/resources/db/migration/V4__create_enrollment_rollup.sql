@@ -0,0 +1,25 @@
+-- New students per course and time bucket (from student.created_at and the primary course),
+-- kept up to date by StudentService writes so trend reads never scan student.
+
+CREATE TABLE IF NOT EXISTS enrollment_rollup (
+    course_id    BIGINT      NOT NULL,
+    bucket_type  VARCHAR(5)  NOT NULL,
+    bucket_start DATE        NOT NULL,
+    new_students BIGINT      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_enrollment_rollup PRIMARY KEY (course_id, bucket_type, bucket_start),
+    CONSTRAINT ck_enrollment_rollup_bucket_type CHECK (bucket_type IN ('DAY', 'WEEK', 'MONTH')),
+    CONSTRAINT fk_enrollment_rollup_course FOREIGN KEY (course_id) REFERENCES course (course_id) ON DELETE CASCADE
+);
+
+-- Per-course trends use the primary key; totals across courses: WHERE bucket_type = ? AND bucket_start BETWEEN ? AND ?
+CREATE INDEX IF NOT EXISTS idx_enrollment_rollup_bucket
+    ON enrollment_rollup (bucket_type, bucket_start);
+
+-- Initial fill from the existing students
+INSERT INTO enrollment_rollup (course_id, bucket_type, bucket_start, new_students)
+SELECT s.course_id, b.bucket_type, CAST(date_trunc(b.unit, s.created_at) AS DATE), COUNT(*)
+FROM student s
+CROSS JOIN (VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month')) AS b (bucket_type, unit)
+WHERE s.course_id IS NOT NULL AND s.created_at IS NOT NULL
+GROUP BY s.course_id, b.bucket_type, CAST(date_trunc(b.unit, s.created_at) AS DATE)
+ON CONFLICT (course_id, bucket_type, bucket_start) DO NOTHING;
@@ -0,0 +1,71 @@
+package org.example.config;
+
+import org.example.service.FirebaseAuthService;
+import org.example.service.FirebaseAuthServiceFixture;
+import org.example.service.TokenVerifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 503 mapping of the availability interceptor, with a verifier stub that injects latency
+ */
+class AuthAvailabilityInterceptorTest {
+
+    private FirebaseAuthService service;
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void verificationTimeoutAnswers503() throws Exception {
+        service = newService(100, idToken -> {
+            sleep(1_000);
+            throw new IllegalStateException("Too late");
+        });
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = new AuthAvailabilityConfig.AuthAvailabilityInterceptor(service)
+                .preHandle(request("Bearer slow"), response, null);
+
+        assertFalse(proceed);
+        assertEquals(503, response.getStatus());
+        assertEquals("5", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void validTokenProceedsToTheController() throws Exception {
+        service = newService(1_000, idToken -> new TokenVerifier.VerifiedToken(
+                "uid-1", "a@example.test", System.currentTimeMillis() / 1000 + 3600));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(new AuthAvailabilityConfig.AuthAvailabilityInterceptor(service)
+                .preHandle(request("Bearer good"), response, null));
+        assertEquals(200, response.getStatus());
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students/me");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+    private static FirebaseAuthService newService(long timeoutMs, TokenVerifier verifier) {
+        return FirebaseAuthServiceFixture.newService(verifier, 2, 2, timeoutMs, 5, 30_000);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
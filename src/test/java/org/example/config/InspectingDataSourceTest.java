@@ -0,0 +1,31 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shutdown of the wrapped pool: the wrapper replaces the pool bean, so closing it must close the pool
+ */
+class InspectingDataSourceTest {
+
+    @Test
+    void closeClosesThePool() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        InspectingDataSource dataSource = new InspectingDataSource(pool, () -> null);
+
+        dataSource.close();
+
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    void closeIgnoresTargetsThatCannotBeClosed() {
+        InspectingDataSource dataSource = new InspectingDataSource(new SimpleDriverDataSource(), () -> null);
+
+        assertDoesNotThrow(dataSource::close);
+    }
+}
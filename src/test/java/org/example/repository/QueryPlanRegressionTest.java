@@ -0,0 +1,245 @@
+package org.example.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plan regression tests: every statement issued by the StudentRepository
+ * and CourseRepository hot-path queries is EXPLAINed against a seeded database
+ * and must not sequentially scan course or student. That includes findAllById
+ * with a batch-get chunk of IDs. findAll lists a whole table, so it must scan
+ * that table and nothing else.
+ *
+ * Plans are generic (EXPLAIN GENERIC_PLAN, Postgres 16+), i.e. what a prepared
+ * statement ends up using regardless of the bound values. Skipped without Docker.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.repository.CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanRegressionTest {
+
+    private static final int COURSES = 2_000;
+    private static final int STUDENTS = 200_000;
+
+    // Same as app.batch-get.chunk-size
+    private static final int BATCH_GET_CHUNK_SIZE = 100;
+
+    private static final Set<String> CHECKED_RELATIONS = Set.of("course", "student");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static boolean seeded;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @BeforeEach
+    void seed() throws SQLException {
+        if (seeded) {
+            return;
+        }
+        // Own connection so the rows are committed, not rolled back with the test transaction
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setseed(0.42)");
+            statement.execute("INSERT INTO course (course_name, course_code, course_duration, created_at, updated_at) "
+                    + "SELECT 'Course ' || g, 'C' || g, 1 + g % 24, now(), now() "
+                    + "FROM generate_series(1, " + COURSES + ") g");
+            // Skewed like real enrollment: low course ids are the popular ones
+            statement.execute("INSERT INTO student (student_name, email, phone, firebase_uid, role, "
+                    + "created_at, updated_at, course_id) "
+                    + "SELECT 'Student ' || g, 'student' || g || '@example.test', '9000000000', 'uid-' || g, "
+                    + "'STUDENT', now() - g * interval '1 minute', now(), "
+                    + "1 + floor(" + COURSES + " * power(random(), 2))::bigint "
+                    + "FROM generate_series(1, " + STUDENTS + ") g");
+            statement.execute("ANALYZE course");
+            statement.execute("ANALYZE student");
+        }
+        seeded = true;
+    }
+
+    @Test
+    void findStudentsByCourseIdUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.findStudentsByCourseId(1L));
+    }
+
+    @Test
+    void countStudentsByCourseIdUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.countStudentsByCourseId(1L));
+    }
+
+    @Test
+    void findClassmateNamesUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.findClassmateNames(1L, 1L, PageRequest.of(2, 20)));
+    }
+
+    @Test
+    void findByFirebaseUidUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.findByFirebaseUid("uid-1"));
+    }
+
+    @Test
+    void findWithCourseByFirebaseUidUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.findWithCourseByFirebaseUid("uid-1"));
+    }
+
+    @Test
+    void findByEmailUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.findByEmail("student1@example.test"));
+    }
+
+    @Test
+    void existsByEmailUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.existsByEmail("student1@example.test"));
+    }
+
+    @Test
+    void findExistingIdsUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.findExistingIds(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void findByCourseCodeUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> courseRepository.findByCourseCode("C1"));
+    }
+
+    @Test
+    void existsByCourseCodeUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> courseRepository.existsByCourseCode("C1"));
+    }
+
+    @Test
+    void studentFindAllByIdUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> studentRepository.findAllById(chunkOfIds(STUDENTS)));
+    }
+
+    @Test
+    void courseFindAllByIdUsesAnIndex() throws Exception {
+        assertNoSequentialScans(() -> courseRepository.findAllById(chunkOfIds(COURSES)));
+    }
+
+    @Test
+    void studentFindAllScansOnlyTheStudentTable() throws Exception {
+        assertSequentialScansOnlyOn("student", () -> studentRepository.findAll());
+    }
+
+    @Test
+    void courseFindAllScansOnlyTheCourseTable() throws Exception {
+        assertSequentialScansOnlyOn("course", () -> courseRepository.findAll());
+    }
+
+    /**
+     * Run the repository call, then EXPLAIN every statement it issued
+     */
+    private void assertNoSequentialScans(Runnable repositoryCall) throws Exception {
+        for (String sql : captureStatements(repositoryCall)) {
+            JsonNode plan = explain(sql);
+            List<String> scans = new ArrayList<>();
+            collectSequentialScans(plan, scans);
+            assertTrue(scans.isEmpty(), "Sequential scan on " + scans + " for:\n" + sql + "\nPlan:\n"
+                    + plan.toPrettyString());
+        }
+    }
+
+    /**
+     * Like assertNoSequentialScans, for a call that lists a whole table: that table
+     * must be scanned, and no other checked table may be
+     */
+    private void assertSequentialScansOnlyOn(String relation, Runnable repositoryCall) throws Exception {
+        boolean scanned = false;
+        for (String sql : captureStatements(repositoryCall)) {
+            JsonNode plan = explain(sql);
+            List<String> scans = new ArrayList<>();
+            collectSequentialScans(plan, scans);
+            scanned |= scans.removeIf(relation::equals);
+            assertTrue(scans.isEmpty(), "Sequential scan on " + scans + " for:\n" + sql + "\nPlan:\n"
+                    + plan.toPrettyString());
+        }
+        assertTrue(scanned, "Expected a sequential scan on " + relation);
+    }
+
+    private List<String> captureStatements(Runnable repositoryCall) {
+        CapturingStatementInspector.clear();
+        repositoryCall.run();
+        List<String> statements = CapturingStatementInspector.statements();
+        assertFalse(statements.isEmpty(), "No SQL statement was captured");
+        return statements;
+    }
+
+    // IDs spread over the whole table, one batch-get chunk
+    private static List<Long> chunkOfIds(int rows) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < BATCH_GET_CHUNK_SIZE; i++) {
+            ids.add(1L + (long) i * rows / BATCH_GET_CHUNK_SIZE);
+        }
+        return ids;
+    }
+
+    private JsonNode explain(String sql) throws Exception {
+        // Simple query protocol: $n placeholders stay unbound, as GENERIC_PLAN expects
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql))) {
+            rs.next();
+            return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+        }
+    }
+
+    private void collectSequentialScans(JsonNode node, List<String> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && CHECKED_RELATIONS.contains(node.path("Relation Name").asText())) {
+            scans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scans);
+        }
+    }
+
+    // Hibernate emits JDBC '?' placeholders; generated SQL has no '?' inside literals
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static Connection connect() throws SQLException {
+        String url = postgres.getJdbcUrl();
+        url += (url.contains("?") ? "&" : "?") + "preferQueryMode=simple";
+        return DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+    }
+}
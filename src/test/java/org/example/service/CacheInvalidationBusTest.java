@@ -0,0 +1,106 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cache coherence across two nodes sharing one Postgres: each node is a
+ * LocalCache and CacheInvalidationBus pair with its own connections, so
+ * invalidations travel only through LISTEN/NOTIFY. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CacheInvalidationBusTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private Node writer;
+
+    private Node reader;
+
+    @BeforeEach
+    void startNodes() throws InterruptedException {
+        writer = startNode();
+        reader = startNode();
+        FirebaseAuthServiceTest.awaitTrue(() -> writer.cache().isEnabled() && reader.cache().isEnabled());
+    }
+
+    @AfterEach
+    void stopNodes() {
+        writer.bus().stop();
+        reader.bus().stop();
+    }
+
+    @Test
+    void committedWriteEvictsTheEntryOnTheOtherNode() throws Exception {
+        assertEquals("v1", reader.cache().getOrLoad(LocalCache.COURSES, "1", () -> "v1"));
+        assertEquals("v1", reader.cache().getOrLoad(LocalCache.COURSES, "1", () -> "v2"), "Entry is cached");
+
+        writer.transactions().executeWithoutResult(status -> writer.bus().invalidate(LocalCache.COURSES, "1"));
+
+        FirebaseAuthServiceTest.awaitTrue(
+                () -> "v2".equals(reader.cache().getOrLoad(LocalCache.COURSES, "1", () -> "v2")));
+        assertEquals(1, received(reader));
+    }
+
+    @Test
+    void rolledBackWriteLeavesTheEntryOnTheOtherNode() throws Exception {
+        assertEquals("v1", reader.cache().getOrLoad(LocalCache.COURSES, "1", () -> "v1"));
+        assertEquals("v1", reader.cache().getOrLoad(LocalCache.COURSES, "2", () -> "v1"));
+
+        writer.transactions().executeWithoutResult(status -> {
+            writer.bus().invalidate(LocalCache.COURSES, "1");
+            status.setRollbackOnly();
+        });
+        // Notifications are applied in commit order: once this one is, a rolled-back one would have been too
+        writer.transactions().executeWithoutResult(status -> writer.bus().invalidate(LocalCache.COURSES, "2"));
+
+        FirebaseAuthServiceTest.awaitTrue(
+                () -> "v2".equals(reader.cache().getOrLoad(LocalCache.COURSES, "2", () -> "v2")));
+        assertEquals("v1", reader.cache().getOrLoad(LocalCache.COURSES, "1", () -> "v2"));
+        assertEquals(1, received(reader));
+    }
+
+    private static long received(Node node) {
+        return (Long) node.bus().getStats().get("received");
+    }
+
+    private static Node startNode() {
+        LocalCache cache = new LocalCache();
+        ReflectionTestUtils.setField(cache, "configured", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        CacheInvalidationBus bus = new CacheInvalidationBus();
+        ReflectionTestUtils.setField(bus, "localCache", cache);
+        ReflectionTestUtils.setField(bus, "jdbcTemplate", new JdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(bus, "enabled", true);
+        ReflectionTestUtils.setField(bus, "channel", "cache_invalidation_test");
+        ReflectionTestUtils.setField(bus, "pollTimeoutMs", 100);
+        ReflectionTestUtils.setField(bus, "livenessCheckMs", 15_000L);
+        ReflectionTestUtils.setField(bus, "socketTimeoutSeconds", 10);
+        ReflectionTestUtils.setField(bus, "url", postgres.getJdbcUrl());
+        ReflectionTestUtils.setField(bus, "username", postgres.getUsername());
+        ReflectionTestUtils.setField(bus, "password", postgres.getPassword());
+        bus.start();
+
+        return new Node(cache, bus, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    private record Node(LocalCache cache, CacheInvalidationBus bus, TransactionTemplate transactions) {
+    }
+}
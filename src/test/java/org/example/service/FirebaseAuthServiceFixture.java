@@ -0,0 +1,28 @@
+package org.example.service;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Builds a started FirebaseAuthService around a verifier stub, with the
+ * settings Spring would otherwise inject from app.firebase.*
+ */
+public final class FirebaseAuthServiceFixture {
+
+    private FirebaseAuthServiceFixture() {
+    }
+
+    public static FirebaseAuthService newService(TokenVerifier verifier, int maxConcurrent, int queueSize,
+                                                 long timeoutMs, int failureThreshold, long openMs) {
+        FirebaseAuthService service = new FirebaseAuthService();
+        ReflectionTestUtils.setField(service, "tokenVerifier", verifier);
+        ReflectionTestUtils.setField(service, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(service, "queueSize", queueSize);
+        ReflectionTestUtils.setField(service, "timeoutMs", timeoutMs);
+        ReflectionTestUtils.setField(service, "failureThreshold", failureThreshold);
+        ReflectionTestUtils.setField(service, "openMs", openMs);
+        ReflectionTestUtils.setField(service, "tokenCacheMaxSize", 100);
+        ReflectionTestUtils.setField(service, "rejectedTtlMs", 30_000L);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.service;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulkhead, timeout and circuit breaker behaviour of FirebaseAuthService,
+ * driven by a local verifier stub instead of Firebase
+ */
+class FirebaseAuthServiceTest {
+
+    private final StubVerifier verifier = new StubVerifier();
+
+    private FirebaseAuthService service;
+
+    @AfterEach
+    void shutdown() {
+        verifier.release();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void slowVerificationTimesOut() {
+        service = newService(2, 2, 100, 5, 30_000);
+        verifier.latencyMs = 1_000;
+
+        AuthUnavailableException e = assertThrows(AuthUnavailableException.class,
+                () -> service.verifyToken("slow"));
+        assertTrue(e.getMessage().contains("timed out"));
+    }
+
+    @Test
+    void breakerOpensAfterFailureThreshold() {
+        service = newService(2, 2, 1_000, 3, 30_000);
+        verifier.failure = new IllegalStateException("keys unavailable");
+
+        for (int i = 0; i < 3; i++) {
+            String token = "token-" + i;
+            assertThrows(AuthUnavailableException.class, () -> service.verifyToken(token));
+        }
+        assertEquals("OPEN", circuit());
+
+        AuthUnavailableException e = assertThrows(AuthUnavailableException.class,
+                () -> service.verifyToken("token-3"));
+        assertTrue(e.getMessage().contains("temporarily unavailable"));
+        assertEquals(3, verifier.calls.get(), "An open circuit must not call the verifier");
+    }
+
+    @Test
+    void cachedTokenKeepsWorkingWhileBreakerIsOpen() {
+        service = newService(2, 2, 1_000, 2, 30_000);
+        assertEquals("uid-good", service.verifyToken("good"));
+
+        verifier.failure = new IllegalStateException("keys unavailable");
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("other-1"));
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("other-2"));
+        assertEquals("OPEN", circuit());
+
+        assertEquals("uid-good", service.verifyToken("good"));
+        assertEquals("uid-good", service.verifyTokenAsync("good").block());
+        assertEquals("good@example.test", service.getEmailFromToken("good"));
+    }
+
+    @Test
+    void fullBulkheadRejectsNewVerifications() throws Exception {
+        service = newService(1, 1, 5_000, 5, 30_000);
+        verifier.gate = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.verifyToken("a"));
+        awaitTrue(() -> verifier.calls.get() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.verifyToken("b"));
+        awaitTrue(() -> Integer.valueOf(1).equals(service.getStats().get("queuedVerifications")));
+
+        AuthUnavailableException e = assertThrows(AuthUnavailableException.class,
+                () -> service.verifyToken("c"));
+        assertTrue(e.getMessage().contains("Too many"));
+
+        verifier.release();
+        assertEquals("uid-a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("uid-b", queued.get(5, TimeUnit.SECONDS));
+        assertEquals("CLOSED", circuit(), "Bulkhead rejections are not verifier failures");
+    }
+
+    @Test
+    void successfulHalfOpenTrialClosesTheCircuit() throws Exception {
+        service = newService(2, 2, 5_000, 1, 100);
+        verifier.failure = new IllegalStateException("keys unavailable");
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("first"));
+        assertEquals("OPEN", circuit());
+
+        Thread.sleep(150);
+        verifier.failure = null;
+        verifier.gate = new CountDownLatch(1);
+        CompletableFuture<String> trial = CompletableFuture.supplyAsync(() -> service.verifyToken("trial"));
+        awaitTrue(() -> verifier.calls.get() == 2);
+
+        // Only one trial at a time
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("second"));
+        assertEquals("HALF_OPEN", circuit());
+
+        verifier.release();
+        assertEquals("uid-trial", trial.get(5, TimeUnit.SECONDS));
+        assertEquals("CLOSED", circuit());
+        assertEquals("uid-after", service.verifyToken("after"));
+    }
+
+    @Test
+    void failedHalfOpenTrialReopensTheCircuit() throws Exception {
+        service = newService(2, 2, 1_000, 1, 100);
+        verifier.failure = new IllegalStateException("keys unavailable");
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("first"));
+
+        Thread.sleep(150);
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("trial"));
+        assertEquals("OPEN", circuit());
+        assertEquals(2, verifier.calls.get());
+
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("next"));
+        assertEquals(2, verifier.calls.get(), "The reopened circuit must fail fast");
+    }
+
+    @Test
+    void interruptedTrialStaysTheOnlyTrialUntilItCompletes() throws Exception {
+        service = newService(2, 2, 5_000, 1, 100);
+        verifier.failure = new IllegalStateException("keys unavailable");
+        assertThrows(AuthUnavailableException.class, () -> service.verifyToken("first"));
+
+        Thread.sleep(150);
+        verifier.failure = null;
+        verifier.gate = new CountDownLatch(1);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(AuthUnavailableException.class, () -> service.verifyToken("interrupted"));
+        } finally {
+            Thread.interrupted();
+        }
+        awaitTrue(() -> verifier.calls.get() == 2);
+
+        // The interrupted caller's verification is still running: no second trial
+        AuthUnavailableException e = assertThrows(AuthUnavailableException.class,
+                () -> service.verifyToken("second"));
+        assertTrue(e.getMessage().contains("temporarily unavailable"));
+        assertEquals("HALF_OPEN", circuit());
+
+        verifier.release();
+        awaitTrue(() -> "CLOSED".equals(circuit()));
+        assertEquals("uid-interrupted", service.verifyToken("interrupted"));
+        assertEquals(2, verifier.calls.get(), "The trial's result is cached for the token");
+    }
+
+    @Test
+    void invalidTokenIsVerifiedOnlyOnce() {
+        service = newService(2, 2, 1_000, 5, 30_000);
+
+        RuntimeException first = assertThrows(RuntimeException.class, () -> service.verifyToken("bad-token"));
+        RuntimeException second = assertThrows(RuntimeException.class, () -> service.verifyToken("bad-token"));
+        assertThrows(RuntimeException.class, () -> service.verifyTokenAsync("bad-token").block());
+
+        assertEquals(first.getMessage(), second.getMessage());
+        assertEquals(1, verifier.calls.get());
+        assertEquals("CLOSED", circuit(), "Invalid tokens are not verifier failures");
+    }
+
+    private FirebaseAuthService newService(int maxConcurrent, int queueSize, long timeoutMs,
+                                           int failureThreshold, long openMs) {
+        return FirebaseAuthServiceFixture.newService(verifier, maxConcurrent, queueSize, timeoutMs,
+                failureThreshold, openMs);
+    }
+
+    private String circuit() {
+        return (String) service.getStats().get("circuit");
+    }
+
+    static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 5 s");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Verifier stub: optional latency, an optional gate to hold calls, an optional
+     * failure; tokens starting with "bad" are rejected like Firebase would
+     */
+    static class StubVerifier implements TokenVerifier {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile long latencyMs;
+        volatile RuntimeException failure;
+        volatile CountDownLatch gate;
+
+        @Override
+        public VerifiedToken verify(String idToken) throws FirebaseAuthException {
+            calls.incrementAndGet();
+            try {
+                CountDownLatch currentGate = gate;
+                if (currentGate != null) {
+                    currentGate.await(10, TimeUnit.SECONDS);
+                }
+                if (latencyMs > 0) {
+                    Thread.sleep(latencyMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (idToken.startsWith("bad")) {
+                throw new FirebaseAuthException(ErrorCode.INVALID_ARGUMENT, "Malformed token", null, null,
+                        AuthErrorCode.INVALID_ID_TOKEN);
+            }
+            return new VerifiedToken("uid-" + idToken, idToken + "@example.test",
+                    System.currentTimeMillis() / 1000 + 3600);
+        }
+
+        void release() {
+            CountDownLatch currentGate = gate;
+            if (currentGate != null) {
+                currentGate.countDown();
+            }
+        }
+    }
+}